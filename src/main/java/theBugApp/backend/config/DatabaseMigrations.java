@@ -0,0 +1,81 @@
+package theBugApp.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the versioned migrations of {@code db/migration} (partial and unique
+ * indexes, unmapped columns, one-off data fixes) once Hibernate has created the
+ * mapped tables, then checks that the schema objects the code relies on are
+ * there. Anything missing fails startup instead of leaving a feature silently
+ * broken. Runs before scheduled jobs and web requests start.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class DatabaseMigrations {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseMigrations.class);
+
+    // (table, colonne) lues ou écrites en SQL natif mais non mappées
+    private static final List<String[]> REQUIRED_COLUMNS = List.of(
+            new String[]{"questions", "search_vector"},
+            new String[]{"questions", "viewer_sketch"},
+            new String[]{"users", "reputation_seq"}
+    );
+
+    // Index dont dépend la correction (cibles d'ON CONFLICT, unicité) : ils doivent exister et être valides
+    private static final List<String> REQUIRED_INDEXES = List.of(
+            "uq_vote_user_question",
+            "uq_vote_user_answer",
+            "uq_answers_accepted_per_question",
+            "idx_questions_search_vector"
+    );
+
+    private final Flyway flyway;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseMigrations(Flyway flyway, JdbcTemplate jdbcTemplate) {
+        this.flyway = flyway;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        int applied = flyway.migrate().migrationsExecuted;
+        logger.info("Applied {} schema migrations", applied);
+        verify();
+    }
+
+    void verify() {
+        List<String> missing = new ArrayList<>();
+        for (String[] column : REQUIRED_COLUMNS) {
+            Integer found = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns " +
+                    "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                    Integer.class, column[0], column[1]);
+            if (found == null || found == 0) {
+                missing.add("column " + column[0] + "." + column[1]);
+            }
+        }
+        for (String index : REQUIRED_INDEXES) {
+            // Un CREATE INDEX CONCURRENTLY interrompu laisse un index invalide, ignoré par le planificateur
+            Integer valid = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_index i " +
+                    "JOIN pg_class c ON c.oid = i.indexrelid " +
+                    "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace AND i.indisvalid",
+                    Integer.class, index);
+            if (valid == null || valid == 0) {
+                missing.add("index " + index);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Database schema is incomplete, missing " + String.join(", ", missing));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package theBugApp.backend.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Flyway déclaré ici pour que l'auto-configuration (migration avant Hibernate) se retire :
+// les migrations portent sur des tables créées par ddl-auto, DatabaseMigrations les lance après
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .javaMigrations(new SearchVectorBackfillMigration())
+                // Bases créées avant Flyway : toutes les migrations (idempotentes) sont rejouées
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                // Verrou de session et non de transaction : sinon CREATE INDEX CONCURRENTLY attend
+                // indéfiniment la transaction qui tient le verrou de migration
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load();
+    }
+}
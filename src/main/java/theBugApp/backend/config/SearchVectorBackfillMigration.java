@@ -0,0 +1,66 @@
+package theBugApp.backend.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * V2: fills {@code questions.search_vector} for the rows that existed before the
+ * trigger of V1. Runs outside a transaction, one autocommitted batch at a time,
+ * so only the rows of the current batch are locked.
+ */
+public class SearchVectorBackfillMigration implements JavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String BACKFILL_BATCH = "UPDATE questions SET search_vector = " +
+            "setweight(to_tsvector('english', coalesce(title, '')), 'A') || " +
+            "setweight(to_tsvector('english', coalesce(plain_text_content, '')), 'B') " +
+            "WHERE id IN (SELECT id FROM questions WHERE id > ? AND search_vector IS NULL ORDER BY id LIMIT ?) " +
+            "RETURNING id";
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("2");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill search vector";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement statement = context.getConnection().prepareStatement(BACKFILL_BATCH)) {
+            while (true) {
+                statement.setLong(1, lastId);
+                statement.setInt(2, BATCH_SIZE);
+                int updated = 0;
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = Math.max(lastId, rs.getLong(1));
+                        updated++;
+                    }
+                }
+                if (updated < BATCH_SIZE) {
+                    return;
+                }
+            }
+        }
+    }
+}
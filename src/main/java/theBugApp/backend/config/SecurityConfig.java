@@ -19,6 +19,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
@@ -30,7 +31,10 @@ import theBugApp.backend.service.CustomOAuth2UserService;
 import theBugApp.backend.service.UserDetailsServiceImpl;
 
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 
 @Configuration
@@ -87,6 +91,8 @@ public class SecurityConfig {
                 .securityMatcher("/api/questions/**")
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/questions").authenticated()
+                        // Statistiques internes du cache : avant le permitAll des GET
+                        .requestMatchers(HttpMethod.GET, "/api/questions/cache/stats").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/questions").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/questions/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/questions/*/voters").permitAll()
@@ -274,7 +280,17 @@ public class SecurityConfig {
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        // Tu peux aussi définir un converter personnalisé ici si besoin
+        // Autorités reprises du claim "role" (ex. "ROLE_USER") placé dans "claims" au login
+        converter.setJwtGrantedAuthoritiesConverter(jwt -> {
+            Map<String, Object> claims = jwt.getClaim("claims");
+            Object role = claims != null ? claims.get("role") : null;
+            if (!(role instanceof String roles) || roles.isBlank()) {
+                return List.of();
+            }
+            return Arrays.stream(roles.trim().split("\\s+"))
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList());
+        });
         return converter;
     }
 
@@ -22,6 +22,7 @@ import theBugApp.backend.dto.UserDto;
 import theBugApp.backend.entity.User;
 import theBugApp.backend.exception.UserNotFoundException;
 import theBugApp.backend.repository.UserRepository;
+import theBugApp.backend.service.PrivilegeResolver;
 import theBugApp.backend.service.UserService;
 
 import java.time.Instant;
@@ -43,6 +44,7 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtEncoder jwtEncoder;
     private final UserService userService;
+    private final PrivilegeResolver privilegeResolver;
 
     @PostMapping("/login/user")
     public ResponseEntity<Map<String, Object>> login(@RequestBody AuthRequest request) {
@@ -74,6 +76,7 @@ public class AuthController {
             claims.put("role", scope);
             claims.put("userId", user.getUserId());
             claims.put("reputation", user.getReputation());
+            privilegeResolver.addClaims(claims, user.getReputation());
             claims.put("confirmed", user.isConfirmed());
             if (user.getPhotoUrl() != null) {
                 claims.put("photoUrl", user.getPhotoUrl());
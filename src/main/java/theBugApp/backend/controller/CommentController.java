@@ -9,6 +9,8 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import theBugApp.backend.dto.CommentRequestDTO;
 import theBugApp.backend.dto.CommentResponseDTO;
+import theBugApp.backend.dto.CommentThreadDTO;
+import theBugApp.backend.dto.CommentThreadsDTO;
 import theBugApp.backend.service.CommentService;
 import java.util.List;
 import java.util.Map;
@@ -61,10 +63,35 @@ public class CommentController {
         return ResponseEntity.ok(responses);
     }
 
+    // Premiers commentaires de la question et de chacune de ses réponses, en une requête
+    @GetMapping("/questions/{questionId}/threads")
+    public ResponseEntity<CommentThreadsDTO> getCommentThreads(
+            @PathVariable Long questionId,
+            @RequestParam(defaultValue = "5") int limitPerPost) {
+        return ResponseEntity.ok(commentService.getCommentThreads(questionId, limitPerPost));
+    }
+
+    // Suite d'un fil ("voir plus")
+    @GetMapping("/questions/{questionId}/page")
+    public ResponseEntity<CommentThreadDTO> getCommentPageForQuestion(
+            @PathVariable Long questionId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(commentService.getCommentsForQuestion(questionId, offset, limit));
+    }
+
     @GetMapping("/answers/{answerId}")
     public ResponseEntity<List<CommentResponseDTO>> getCommentsForAnswer(
             @PathVariable Long answerId) {
         List<CommentResponseDTO> responses = commentService.getCommentsForAnswer(answerId);
         return ResponseEntity.ok(responses);
     }
+
+    @GetMapping("/answers/{answerId}/page")
+    public ResponseEntity<CommentThreadDTO> getCommentPageForAnswer(
+            @PathVariable Long answerId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(commentService.getCommentsForAnswer(answerId, offset, limit));
+    }
 }
@@ -1,6 +1,6 @@
 package theBugApp.backend.controller;
 
-import org.springframework.data.domain.Page;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
@@ -10,14 +10,17 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import theBugApp.backend.dto.*;
+import theBugApp.backend.enums.QuestionSort;
 import theBugApp.backend.exception.QuestionNotFoundException;
 import theBugApp.backend.exception.UserNotFoundException;
 import theBugApp.backend.service.AnswerService;
-import theBugApp.backend.service.LexicalContentProcessor;
+import theBugApp.backend.service.QuestionDetailCache;
+import theBugApp.backend.service.QuestionPageService;
 import theBugApp.backend.service.QuestionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.jwt.Jwt;
 import theBugApp.backend.service.VoteServiceImpl;
+import theBugApp.backend.service.ViewCountService;
 
 import java.security.Principal;
 import java.util.List;
@@ -31,6 +34,9 @@ public class QuestionController {
     private final QuestionService questionService;
     private final AnswerService answerService;
     private final VoteServiceImpl voteService;
+    private final QuestionDetailCache questionDetailCache;
+    private final ViewCountService viewCountService;
+    private final QuestionPageService questionPageService;
 
 
     @PostMapping
@@ -39,9 +45,6 @@ public class QuestionController {
             @AuthenticationPrincipal Jwt jwt) {
 
         System.out.println("Creating question with title: " + questionRequestDTO.title());
-        LexicalContentProcessor lexicalProcessor = new LexicalContentProcessor();
-        System.out.println("Content type: " + (lexicalProcessor.isLexicalJson(questionRequestDTO.content())
-                ? "Lexical JSON" : "Plain text"));
 
         if (questionRequestDTO.tagNames() != null) {
             System.out.println("Tags submitted: " + String.join(", ", questionRequestDTO.tagNames()));
@@ -63,9 +66,13 @@ public class QuestionController {
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getQuestion(@PathVariable Long id) {
+    public ResponseEntity<?> getQuestion(@PathVariable Long id,
+                                         @AuthenticationPrincipal Jwt jwt,
+                                         HttpServletRequest request) {
         try {
             QuestionResponseDTO response = questionService.getQuestionById(id);
+            // Lecteur identifié par son compte, sinon par son adresse (derrière un proxy : server.forward-headers-strategy)
+            viewCountService.recordView(id, jwt != null ? "u:" + jwt.getSubject() : "ip:" + request.getRemoteAddr());
             return ResponseEntity.ok(response);
         } catch (QuestionNotFoundException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -74,15 +81,33 @@ public class QuestionController {
     }
 
     @GetMapping
-    public ResponseEntity<List<QuestionResponseDTO>> getAllQuestions(
-            @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+    public ResponseEntity<List<QuestionSummaryDTO>> getAllQuestions(
+            @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(required = false) String sortBy) {
 
-        Page<QuestionResponseDTO> questionPage = questionService.getAllQuestions(pageable);
-        List<QuestionResponseDTO> questionList = questionPage.getContent(); // Récupérer la liste des questions
+        // sortBy (newest, active, votes, unanswered, hot, title) remplace le tri du Pageable
+        List<QuestionSummaryDTO> questionList = sortBy != null
+                ? questionService.getAllQuestions(pageable, sortBy)
+                : questionService.getAllQuestions(pageable);
 
         return ResponseEntity.ok(questionList);
     }
 
+    // Hits / misses / évictions du cache de détail des questions (ROLE_ADMIN, cf. SecurityConfig)
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(questionDetailCache.stats());
+    }
+
+    // Pagination par curseur : ?sort=newest|votes|active&after=<nextCursor>&limit=
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<QuestionSummaryDTO>> scrollQuestions(
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(questionService.scrollQuestions(QuestionSort.fromParam(sort), after, limit));
+    }
+
 
     @GetMapping("/{questionId}/answers")
     public ResponseEntity<?> getAnswersForQuestion(@PathVariable Long questionId) {
@@ -96,12 +121,12 @@ public class QuestionController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<QuestionResponseDTO>> searchQuestions(
+    public ResponseEntity<List<QuestionSummaryDTO>> searchQuestions(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) String tag,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        List<QuestionResponseDTO> responses = questionService.searchQuestions(query, tag, page, size);
+        List<QuestionSummaryDTO> responses = questionService.searchQuestions(query, tag, page, size);
         return ResponseEntity.ok(responses);
     }
 
@@ -122,6 +147,26 @@ public class QuestionController {
     }
 
 
+    // Page complète en un appel : question, réponses, commentaires et votes de l'appelant
+    @GetMapping("/{id}/page")
+    public ResponseEntity<?> getQuestionPage(@PathVariable Long id,
+                                             @AuthenticationPrincipal Jwt jwt,
+                                             HttpServletRequest request) {
+        String email = null;
+        if (jwt != null) {
+            Map<String, Object> claims = jwt.getClaim("claims");
+            email = claims != null ? (String) claims.get("email") : null;
+        }
+        try {
+            QuestionPageDTO page = questionPageService.getPage(id, email);
+            viewCountService.recordView(id, jwt != null ? "u:" + jwt.getSubject() : "ip:" + request.getRemoteAddr());
+            return ResponseEntity.ok(page);
+        } catch (QuestionNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", "Question with ID " + id + " does not exist"));
+        }
+    }
+
     @GetMapping("/{questionId}/voters")
     public ResponseEntity<List<VoteInfoDto>> getVoteInfoByQuestion(@PathVariable Long questionId) {
         List<VoteInfoDto> voteInfo = voteService.getVoteInfoByQuestion(questionId);
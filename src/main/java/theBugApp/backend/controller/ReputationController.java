@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 import theBugApp.backend.dto.*;
 import theBugApp.backend.entity.User;
 import theBugApp.backend.repository.UserRepository;
+import theBugApp.backend.service.PrivilegeResolver;
 import theBugApp.backend.service.ReputationService;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +21,7 @@ public class ReputationController {
 
     private final ReputationService reputationService;
     private final UserRepository userRepository;
+    private final PrivilegeResolver privilegeResolver;
     @GetMapping("/users/{userId}")
     public ResponseEntity<Integer> getUserReputation(@PathVariable Long userId) {
         return ResponseEntity.ok(reputationService.getUserReputation(userId));
@@ -37,14 +39,7 @@ public class ReputationController {
 
     @GetMapping("/users/{userId}/privileges")
     public ResponseEntity<Map<String, Boolean>> getUserPrivileges(@PathVariable Long userId) {
-        Map<String, Boolean> privileges = new HashMap<>();
-        privileges.put("canUpvote", reputationService.canUpvote(userId));
-        privileges.put("canDownvote", reputationService.canDownvote(userId));
-        privileges.put("canComment", reputationService.canComment(userId));
-        privileges.put("canCreateTags", reputationService.canCreateTags(userId));
-        privileges.put("canEdit", reputationService.canEdit(userId));
-        privileges.put("canDelete", reputationService.canDelete(userId));
-        privileges.put("canModerate", reputationService.canModerate(userId));
+        Map<String, Boolean> privileges = privilegeResolver.describe(userId);
         return ResponseEntity.ok(privileges);
     }
 
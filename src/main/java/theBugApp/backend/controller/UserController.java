@@ -10,7 +10,7 @@ import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import theBugApp.backend.dto.AnswerResponseDTO;
-import theBugApp.backend.dto.QuestionResponseDTO;
+import theBugApp.backend.dto.QuestionSummaryDTO;
 import theBugApp.backend.dto.UpdateUserDto;
 import theBugApp.backend.dto.UserDto;
 import theBugApp.backend.entity.User;
@@ -21,6 +21,7 @@ import theBugApp.backend.exception.UserNotFoundException;
 import theBugApp.backend.exception.UsernameExistsException;
 import theBugApp.backend.service.AnswerService;
 import theBugApp.backend.service.FollowService;
+import theBugApp.backend.service.PrivilegeResolver;
 import theBugApp.backend.service.UserService;
 
 import java.time.Instant;
@@ -49,6 +50,7 @@ public class UserController {
     private final UserRepository userRepository;
     private final AnswerService answerService;
     private final FollowService followService; // Nouveau service
+    private final PrivilegeResolver privilegeResolver;
 
 
     @GetMapping("/users")
@@ -151,6 +153,7 @@ public class UserController {
             claims.put("email", email);
             claims.put("userId", user.getUserId());
             claims.put("reputation", user.getReputation());
+            privilegeResolver.addClaims(claims, user.getReputation());
             claims.put("confirmed", user.isConfirmed());
 
             if (user.getPhotoUrl() != null) {
@@ -197,7 +200,7 @@ public class UserController {
     @GetMapping("/users/{id}/questions")
     public ResponseEntity<?> getUserQuestions(@PathVariable Long id) {
         try {
-            List<QuestionResponseDTO> questions = userService.getQuestionsByUserId(id);
+            List<QuestionSummaryDTO> questions = userService.getQuestionsByUserId(id);
             return ResponseEntity.ok(questions);
         } catch (UserNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "User not found"));
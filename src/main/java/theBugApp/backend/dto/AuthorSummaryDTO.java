@@ -0,0 +1,8 @@
+package theBugApp.backend.dto;
+
+public record AuthorSummaryDTO(
+        Long userId,
+        String username,
+        String photoUrl,
+        int reputation
+) {}
@@ -0,0 +1,9 @@
+package theBugApp.backend.dto;
+
+import java.util.List;
+
+// Une page des commentaires d'un post ; totalCount permet d'afficher "voir les N autres"
+public record CommentThreadDTO(
+        List<CommentResponseDTO> comments,
+        long totalCount
+) {}
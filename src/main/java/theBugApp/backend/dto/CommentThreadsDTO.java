@@ -0,0 +1,9 @@
+package theBugApp.backend.dto;
+
+import java.util.Map;
+
+// Commentaires d'une question et de ses réponses, groupés par post (clé : id de la réponse)
+public record CommentThreadsDTO(
+        CommentThreadDTO question,
+        Map<Long, CommentThreadDTO> answers
+) {}
@@ -0,0 +1,9 @@
+package theBugApp.backend.dto;
+
+import java.util.List;
+
+// nextCursor est null quand il n'y a plus de page
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor
+) {}
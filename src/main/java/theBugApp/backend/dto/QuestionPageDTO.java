@@ -0,0 +1,15 @@
+package theBugApp.backend.dto;
+
+import theBugApp.backend.entity.Vote;
+
+import java.util.List;
+import java.util.Map;
+
+// Tout ce qu'il faut pour afficher une page question en un seul appel
+public record QuestionPageDTO(
+        QuestionResponseDTO question,
+        List<AnswerResponseDTO> answers, // acceptée d'abord, puis par score
+        CommentThreadsDTO comments, // premiers commentaires de chaque post + totaux
+        Vote.VoteType myQuestionVote, // null si pas de vote ou appel anonyme
+        Map<Long, Vote.VoteType> myAnswerVotes
+) {}
@@ -14,7 +14,14 @@ public record QuestionResponseDTO(
         Date updatedAt,
         UserDto user,
         int viewCount,
+        int uniqueViewers,
         int voteScore,
         int answerCount,  // Add this field
         Set<SimpleTagDTO> tags
-) {}
\ No newline at end of file
+) {
+    // Compteurs de vues relus en base : ils changent sans invalider le cache de détail
+    public QuestionResponseDTO withViewCounts(int viewCount, int uniqueViewers) {
+        return new QuestionResponseDTO(id, title, content, plainTextContent, createdAt, updatedAt, user,
+                viewCount, uniqueViewers, voteScore, answerCount, tags);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package theBugApp.backend.dto;
+
+import java.util.Date;
+import java.util.Set;
+
+// Élément des listes de questions : pas de content ni de plainTextContent complet
+public record QuestionSummaryDTO(
+        Long id,
+        String title,
+        String snippet,
+        Date createdAt,
+        Date updatedAt,
+        int voteScore,
+        int answerCount,
+        AuthorSummaryDTO author,
+        Set<SimpleTagDTO> tags
+) {}
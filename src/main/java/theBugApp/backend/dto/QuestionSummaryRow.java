@@ -0,0 +1,18 @@
+package theBugApp.backend.dto;
+
+import java.util.Date;
+
+// Projection JPQL (constructor expression) utilisée pour construire QuestionSummaryDTO
+public record QuestionSummaryRow(
+        Long id,
+        String title,
+        String snippet,
+        Date createdAt,
+        Date updatedAt,
+        Integer voteScore,
+        Integer answerCount,
+        Long authorId,
+        String authorUsername,
+        String authorPhotoUrl,
+        Integer authorReputation
+) {}
@@ -22,12 +22,16 @@ public class Answer {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    @Column(columnDefinition = "TEXT")
+    private String plainTextContent;
+
     @CreationTimestamp
     private Date createdAt;
 
     @UpdateTimestamp
     private Date updatedAt;
 
+    @Column(name = "vote_score", updatable = false)
     private int voteScore = 0;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,29 @@
+package theBugApp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Avancement d'un job de backfill : tout id <= lastId a été traité
+@Entity
+@Table(name = "backfill_checkpoint")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillCheckpoint {
+    @Id
+    private String name;
+
+    private Long lastId = 0L;
+
+    private long processed;
+
+    private boolean completed;
+
+    private LocalDateTime updatedAt;
+
+    public BackfillCheckpoint(String name) {
+        this.name = name;
+    }
+}
@@ -9,6 +9,10 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
+@Table(name = "comment", indexes = {
+        @Index(name = "idx_comment_question_id", columnList = "question_id"),
+        @Index(name = "idx_comment_answer_id", columnList = "answer_id")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
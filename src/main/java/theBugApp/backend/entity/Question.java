@@ -3,14 +3,18 @@ package theBugApp.backend.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.*;
 
 // Question.java
 @Entity
-@Table(name = "questions")
+@Table(name = "questions", indexes = {
+        @Index(name = "idx_questions_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_questions_vote_score_id", columnList = "vote_score, id"),
+        @Index(name = "idx_questions_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_questions_hot_score_id", columnList = "hot_score, id")
+})
 @Data
 @Getter
 @Setter
@@ -30,6 +34,9 @@ public class Question {
     @Column(columnDefinition = "TEXT")
     private String plainTextContent;
 
+    @Column(length = 256)
+    private String snippet;
+
     @CreationTimestamp
     private Date createdAt;
 
@@ -40,8 +47,29 @@ public class Question {
     @JoinColumn(name = "user_id")
     private User user;
 
-    @Formula("(SELECT COALESCE(SUM(CASE WHEN v.vote_type = 'UPVOTE' THEN 1 WHEN v.vote_type = 'DOWNVOTE' THEN -1 ELSE 0 END), 0) FROM vote v WHERE v.question_id = id)")
-    private Integer voteScore;
+    // Maintained by VoteScoreService with atomic increments, never written by Hibernate updates
+    @Column(name = "vote_score", updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer voteScore = 0;
+
+    // Incremented / decremented by AnswerServiceImpl in the answer transaction
+    @Column(name = "answer_count", updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer answerCount = 0;
+
+    // Time-decayed ranking, refreshed periodically by QuestionRankingService
+    @Column(name = "hot_score", insertable = false, updatable = false, columnDefinition = "double precision default 0 not null")
+    private Double hotScore = 0.0;
+
+    // Flushed in batches by ViewCountService, never written on the read path
+    @Column(name = "view_count", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private Long viewCount = 0L;
+
+    // Estimation HyperLogLog, mise à jour avec le sketch viewer_sketch par UniqueViewerService
+    @Column(name = "unique_viewers", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private Long uniqueViewers = 0L;
+
+    // Réponse acceptée ; modifiée uniquement par les UPDATE atomiques de QuestionRepository
+    @Column(name = "accepted_answer_id", insertable = false, updatable = false)
+    private Long acceptedAnswerId;
 
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
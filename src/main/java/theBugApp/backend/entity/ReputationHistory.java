@@ -10,7 +10,10 @@ import theBugApp.backend.enums.ReputationAction;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reputation_history")
+@Table(name = "reputation_history", indexes = {
+        // Plafond journalier : somme des points d'un utilisateur depuis minuit
+        @Index(name = "idx_reputation_history_user_created", columnList = "user_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
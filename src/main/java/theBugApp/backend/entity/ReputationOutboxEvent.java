@@ -0,0 +1,52 @@
+package theBugApp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import theBugApp.backend.enums.ReputationAction;
+
+import java.time.LocalDateTime;
+
+// Effet de réputation en attente : écrit dans la transaction du vote, appliqué par ReputationLedgerProcessor
+@Entity
+@Table(name = "reputation_outbox")
+@Getter @Setter
+@NoArgsConstructor
+public class ReputationOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Pas de relation : l'écriture ne doit ni charger ni verrouiller l'utilisateur
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    private ReputationAction action;
+
+    @Column(name = "points", nullable = false)
+    private int points;
+
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(name = "answer_id")
+    private Long answerId;
+
+    @Column(name = "vote_id")
+    private Long voteId;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
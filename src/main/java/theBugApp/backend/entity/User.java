@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import theBugApp.backend.enums.Country;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@BatchSize(size = 50) // authors of a page are loaded with one IN query
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,11 +33,17 @@ public class User {
 
     private String photoUrl;
 
+    // Écrite à l'insertion puis uniquement par des UPDATE atomiques (ReputationLedgerProcessor,
+    // UserRepository.setReputation) : une sauvegarde JPA ne peut pas écraser une mise à jour concurrente
+    @Column(name = "reputation", updatable = false)
     private int reputation = 1;
 
     @Version
     private Long version;
 
+    @Embedded
+    private UserStats stats = new UserStats();
+
 
     private boolean isConfirmed;
     // In User.java
@@ -0,0 +1,37 @@
+package theBugApp.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalized per-user counters stored on the {@code users} row.
+ * The columns are read-only for Hibernate: they are only changed through the
+ * incremental updates in {@link theBugApp.backend.repository.UserRepository}
+ * (same transaction as the write that affects them) and the reconciliation job.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+public class UserStats {
+
+    @Column(name = "followers_count", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int followersCount;
+
+    @Column(name = "following_count", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int followingCount;
+
+    @Column(name = "question_count", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int questionCount;
+
+    @Column(name = "answer_count", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int answerCount;
+
+    @Column(name = "vote_count", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int voteCount;
+
+    // Lecteurs uniques estimés des pages où l'utilisateur a écrit la question ou une réponse
+    @Column(name = "reached_count", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int reachedCount;
+}
@@ -0,0 +1,53 @@
+package theBugApp.backend.enums;
+
+// Privilèges débloqués par la réputation ; un ensemble de privilèges tient dans un int (un bit par palier)
+public enum PrivilegeTier {
+    UPVOTE(15, "canUpvote"),
+    DOWNVOTE(125, "canDownvote"),
+    COMMENT(50, "canComment"),
+    CREATE_TAGS(1500, "canCreateTags"),
+    EDIT(2000, "canEdit"),
+    DELETE(10000, "canDelete"),
+    MODERATE(10000, "canModerate");
+
+    private static final PrivilegeTier[] TIERS = values();
+
+    private final int minReputation;
+    private final String key;
+
+    PrivilegeTier(int minReputation, String key) {
+        this.minReputation = minReputation;
+        this.key = key;
+    }
+
+    public int getMinReputation() {
+        return minReputation;
+    }
+
+    // Nom exposé par l'API (/api/reputation/users/{id}/privileges)
+    public String getKey() {
+        return key;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean isGrantedAt(int reputation) {
+        return reputation >= minReputation;
+    }
+
+    public boolean isIn(int bits) {
+        return (bits & bit()) != 0;
+    }
+
+    public static int bitsFor(int reputation) {
+        int bits = 0;
+        for (PrivilegeTier tier : TIERS) {
+            if (tier.isGrantedAt(reputation)) {
+                bits |= tier.bit();
+            }
+        }
+        return bits;
+    }
+}
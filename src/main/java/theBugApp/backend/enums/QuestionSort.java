@@ -0,0 +1,52 @@
+package theBugApp.backend.enums;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+
+public enum QuestionSort {
+    NEWEST(Sort.by(Sort.Direction.DESC, "createdAt", "id"), "newest"),
+    ACTIVE(Sort.by(Sort.Direction.DESC, "updatedAt", "id"), "active", "updated"),
+    VOTES(Sort.by(Sort.Direction.DESC, "voteScore", "id"), "votes"),
+    UNANSWERED(Sort.by(Sort.Direction.DESC, "createdAt", "id"), "unanswered"),
+    UNACCEPTED(Sort.by(Sort.Direction.DESC, "createdAt", "id"), "unaccepted"),
+    HOT(Sort.by(Sort.Direction.DESC, "hotScore", "id"), "hot"),
+    TITLE(Sort.by(Sort.Direction.ASC, "title", "id"), "title");
+
+    private final Sort sort;
+    private final String param;
+    private final String[] aliases;
+
+    QuestionSort(Sort sort, String param, String... aliases) {
+        this.sort = sort;
+        this.param = param;
+        this.aliases = aliases;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    // Ordre (avec id comme départage) correspondant aux index de la table questions
+    public Sort getSort() {
+        return sort;
+    }
+
+    public static QuestionSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (QuestionSort sort : values()) {
+            if (sort.param.equals(normalized)) {
+                return sort;
+            }
+            for (String alias : sort.aliases) {
+                if (alias.equals(normalized)) {
+                    return sort;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort: " + value);
+    }
+}
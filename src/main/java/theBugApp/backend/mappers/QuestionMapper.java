@@ -0,0 +1,117 @@
+package theBugApp.backend.mappers;
+
+import org.springframework.stereotype.Component;
+import theBugApp.backend.dto.*;
+import theBugApp.backend.entity.Question;
+import theBugApp.backend.entity.User;
+import theBugApp.backend.repository.QuestionRepository;
+import theBugApp.backend.repository.TagRepository;
+
+import java.util.*;
+
+/**
+ * Builds {@link QuestionResponseDTO}s for a whole list of questions at once, and
+ * the {@link QuestionSummaryDTO}s of list pages from a projection that never loads
+ * the content columns.
+ * Tags are loaded with one set-based query; vote scores, answer counts and
+ * author statistics come from the loaded rows, so the cost of a page does not
+ * grow with its size.
+ */
+@Component
+public class QuestionMapper {
+
+    private final TagRepository tagRepository;
+    private final QuestionRepository questionRepository;
+    private final UserMapper userMapper;
+
+    public QuestionMapper(TagRepository tagRepository, QuestionRepository questionRepository, UserMapper userMapper) {
+        this.tagRepository = tagRepository;
+        this.questionRepository = questionRepository;
+        this.userMapper = userMapper;
+    }
+
+    // Keeps the order of the ids
+    public List<QuestionSummaryDTO> toSummaries(List<Long> questionIds) {
+        if (questionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, QuestionSummaryRow> rows = new HashMap<>();
+        for (QuestionSummaryRow row : questionRepository.findSummaryRowsByIds(questionIds)) {
+            rows.put(row.id(), row);
+        }
+        Map<Long, Set<SimpleTagDTO>> tagsByQuestion = loadTags(questionIds);
+
+        List<QuestionSummaryDTO> summaries = new ArrayList<>(questionIds.size());
+        for (Long id : questionIds) {
+            QuestionSummaryRow row = rows.get(id);
+            if (row == null) {
+                continue;
+            }
+            AuthorSummaryDTO author = row.authorId() == null ? null : new AuthorSummaryDTO(
+                    row.authorId(), row.authorUsername(), row.authorPhotoUrl(),
+                    row.authorReputation() != null ? row.authorReputation() : 0);
+            summaries.add(new QuestionSummaryDTO(
+                    id,
+                    row.title(),
+                    row.snippet(),
+                    row.createdAt(),
+                    row.updatedAt(),
+                    row.voteScore() != null ? row.voteScore() : 0,
+                    row.answerCount() != null ? row.answerCount() : 0,
+                    author,
+                    tagsByQuestion.getOrDefault(id, new HashSet<>())
+            ));
+        }
+        return summaries;
+    }
+
+    public QuestionResponseDTO toResponseDTO(Question question) {
+        return toResponseDTOs(List.of(question)).get(0);
+    }
+
+    // Keeps the order of the input list
+    public List<QuestionResponseDTO> toResponseDTOs(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> questionIds = questions.stream().map(Question::getId).distinct().toList();
+        List<User> authors = questions.stream()
+                .map(Question::getUser)
+                .filter(Objects::nonNull)
+                .toList();
+
+        Map<Long, Set<SimpleTagDTO>> tagsByQuestion = loadTags(questionIds);
+        Map<Long, UserDto> authorDtos = userMapper.toUserDtos(authors);
+
+        List<QuestionResponseDTO> dtos = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            Long id = question.getId();
+            UserDto userDto = question.getUser() != null ? authorDtos.get(question.getUser().getUserId()) : null;
+            dtos.add(new QuestionResponseDTO(
+                    id,
+                    question.getTitle(),
+                    question.getContent(),
+                    question.getPlainTextContent(),
+                    question.getCreatedAt(),
+                    question.getUpdatedAt(),
+                    userDto,
+                    question.getViewCount() != null ? (int) Math.min(question.getViewCount(), Integer.MAX_VALUE) : 0,
+                    question.getUniqueViewers() != null ? (int) Math.min(question.getUniqueViewers(), Integer.MAX_VALUE) : 0,
+                    question.getVoteScore() != null ? question.getVoteScore() : 0,
+                    question.getAnswerCount() != null ? question.getAnswerCount() : 0,
+                    tagsByQuestion.getOrDefault(id, new HashSet<>())
+            ));
+        }
+        return dtos;
+    }
+
+    private Map<Long, Set<SimpleTagDTO>> loadTags(List<Long> questionIds) {
+        Map<Long, Set<SimpleTagDTO>> tagsByQuestion = new HashMap<>();
+        for (Object[] row : tagRepository.findTagNamesForQuestionIds(questionIds)) {
+            tagsByQuestion.computeIfAbsent((Long) row[0], k -> new HashSet<>())
+                    .add(new SimpleTagDTO((String) row[1]));
+        }
+        return tagsByQuestion;
+    }
+}
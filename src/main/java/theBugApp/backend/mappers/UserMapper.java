@@ -4,27 +4,36 @@ import org.springframework.stereotype.Component;
 import theBugApp.backend.dto.InfoUserDto;
 import theBugApp.backend.dto.UserDto;
 import theBugApp.backend.entity.User;
-import theBugApp.backend.repository.AnswerRepository;
-import theBugApp.backend.repository.FollowRepository;
-import theBugApp.backend.repository.QuestionRepository;
-import theBugApp.backend.repository.VoteRepository;
+import theBugApp.backend.entity.UserStats;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 public class UserMapper {
 
-    private final FollowRepository followRepository;
-    private final QuestionRepository questionRepository;
-    private final VoteRepository voteRepository;
-    private final AnswerRepository answerRepository;
+    // Aucune requête : les compteurs viennent de UserStats, chargés avec la ligne users
+    public UserDto toUserDto(User user) {
+        UserDto dto = mapProfile(user);
+
+        UserStats stats = user.getStats() != null ? user.getStats() : new UserStats();
+        dto.setFollowersCount(stats.getFollowersCount());
+        dto.setFollowingCount(stats.getFollowingCount());
+        dto.setQuestionCount(stats.getQuestionCount());
+        dto.setVoteCount(stats.getVoteCount());
+        dto.setAnswerCount(stats.getAnswerCount());
+        dto.setReachedCount(stats.getReachedCount());
+        return dto;
+    }
 
-    public UserMapper(FollowRepository followRepository,QuestionRepository questionRepository, VoteRepository voteRepository,AnswerRepository answerRepository) {
-        this.followRepository = followRepository;
-        this.questionRepository=questionRepository;
-        this.voteRepository=voteRepository;
-        this.answerRepository=answerRepository;
+    public Map<Long, UserDto> toUserDtos(Collection<User> users) {
+        Map<Long, UserDto> dtos = new HashMap<>();
+        users.forEach(user -> dtos.computeIfAbsent(user.getUserId(), id -> toUserDto(user)));
+        return dtos;
     }
 
-    public UserDto toUserDto(User user) {
+    private UserDto mapProfile(User user) {
         UserDto dto = new UserDto();
         dto.setUserId(user.getUserId());
         dto.setReputation(user.getReputation());
@@ -33,14 +42,6 @@ public class UserMapper {
         // NOUVELLE LIGNE : Mapper le country
         dto.setCountry(user.getCountry());
 
-        // Calculer les counts
-        dto.setFollowersCount((int) followRepository.countFollowersByUserId(user.getUserId()));
-        dto.setFollowingCount((int) followRepository.countFollowingByUserId(user.getUserId()));
-        dto.setQuestionCount((int) questionRepository.countByUserId(user.getUserId()));
-        dto.setVoteCount((int) voteRepository.countByUserId(user.getUserId()));
-        dto.setAnswerCount((int) answerRepository.countByUserId(user.getUserId()));
-        dto.setReachedCount(0);
-
         // Mapper les nouveaux champs
         dto.setCreatedDate(user.getCreatedDate());
         dto.setLastSeen(user.getLastSeen());
@@ -56,18 +57,4 @@ public class UserMapper {
         dto.setInfoUser(infoDto);
         return dto;
     }
-
-    // Méthode utilitaire pour mettre à jour un User depuis un DTO (optionnel)
-    public void updateUserFromDto(User user, UserDto dto) {
-        if (dto.getPhotoUrl() != null) {
-            user.setPhotoUrl(dto.getPhotoUrl());
-        }
-        if (dto.getCountry() != null) {
-            user.setCountry(dto.getCountry());
-        }
-        user.setConfirmed(dto.isConfirmed());
-        if (dto.getReputation() != null) {
-            user.setReputation(dto.getReputation());
-        }
-    }
 }
@@ -1,10 +1,12 @@
 package theBugApp.backend.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import theBugApp.backend.entity.Answer;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
@@ -15,4 +17,18 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
     List<Answer> findByQuestionId(@Param("questionId") Long questionId);
     @Query("SELECT COUNT(a) FROM Answer a WHERE a.user.userId = :userId")
     long countByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT a.question.id, a.plainTextContent, a.content FROM Answer a WHERE a.question.id IN :questionIds")
+    List<Object[]> findContentByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+
+    @Modifying
+    @Query(value = "UPDATE answers SET vote_score = vote_score + :delta WHERE id = :answerId", nativeQuery = true)
+    void incrementVoteScore(@Param("answerId") Long answerId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE answers a SET vote_score = s.score FROM (" +
+            "SELECT x.id, COALESCE(SUM(CASE WHEN v.vote_type = 'UPVOTE' THEN 1 WHEN v.vote_type = 'DOWNVOTE' THEN -1 ELSE 0 END), 0) AS score " +
+            "FROM answers x LEFT JOIN vote v ON v.answer_id = x.id GROUP BY x.id) s " +
+            "WHERE a.id = s.id AND a.vote_score <> s.score", nativeQuery = true)
+    int repairVoteScores();
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package theBugApp.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import theBugApp.backend.entity.BackfillCheckpoint;
+
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, String> {
+}
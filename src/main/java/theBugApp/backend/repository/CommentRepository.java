@@ -1,12 +1,43 @@
 package theBugApp.backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import theBugApp.backend.entity.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    // L'auteur et son InfoUser sont chargés dans la même requête (username du DTO)
+    @EntityGraph(attributePaths = {"user", "user.infoUser"})
     List<Comment> findByQuestionId(Long questionId);
 
+    @EntityGraph(attributePaths = {"user", "user.infoUser"})
     List<Comment> findByAnswerId(Long answerId);
+
+    // Les lignes natives ci-dessous ont toutes la forme (id, content, created_at, username, answer_id, total)
+
+    // Les limitPerPost premiers commentaires de la question et de chacune de ses réponses, avec le total par post
+    @Query(value = "SELECT t.id, t.content, t.created_at, t.username, t.answer_id, t.total FROM (" +
+            "  SELECT c.id, c.content, c.created_at, i.username, c.answer_id, " +
+            "         ROW_NUMBER() OVER (PARTITION BY c.answer_id ORDER BY c.created_at, c.id) AS rn, " +
+            "         COUNT(*) OVER (PARTITION BY c.answer_id) AS total " +
+            "  FROM comment c " +
+            "  JOIN users u ON u.user_id = c.user_id " +
+            "  JOIN info_user i ON i.user_id = u.app_user_id " +
+            "  WHERE c.question_id = :questionId " +
+            "     OR c.answer_id IN (SELECT a.id FROM answers a WHERE a.question_id = :questionId)" +
+            ") t WHERE t.rn <= :limitPerPost ORDER BY t.answer_id NULLS FIRST, t.rn", nativeQuery = true)
+    List<Object[]> findThreadRowsByQuestionId(@Param("questionId") Long questionId, @Param("limitPerPost") int limitPerPost);
+
+    @Query(value = "SELECT c.id, c.content, c.created_at, i.username, c.answer_id, COUNT(*) OVER () AS total " +
+            "FROM comment c JOIN users u ON u.user_id = c.user_id JOIN info_user i ON i.user_id = u.app_user_id " +
+            "WHERE c.question_id = :questionId ORDER BY c.created_at, c.id OFFSET :offset LIMIT :limit", nativeQuery = true)
+    List<Object[]> findRowsByQuestionId(@Param("questionId") Long questionId, @Param("offset") int offset, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.id, c.content, c.created_at, i.username, c.answer_id, COUNT(*) OVER () AS total " +
+            "FROM comment c JOIN users u ON u.user_id = c.user_id JOIN info_user i ON i.user_id = u.app_user_id " +
+            "WHERE c.answer_id = :answerId ORDER BY c.created_at, c.id OFFSET :offset LIMIT :limit", nativeQuery = true)
+    List<Object[]> findRowsByAnswerId(@Param("answerId") Long answerId, @Param("offset") int offset, @Param("limit") int limit);
 }
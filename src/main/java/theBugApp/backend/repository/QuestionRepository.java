@@ -2,12 +2,18 @@ package theBugApp.backend.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import theBugApp.backend.entity.Question;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import theBugApp.backend.dto.QuestionSummaryRow;
+
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 @Repository
@@ -28,21 +34,116 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     // Count the number of questions by user
     @Query("SELECT COUNT(q) FROM Question q WHERE q.user.userId = :userId")
     long countByUserId(@Param("userId") Long userId);
-    // Search by title or content with pagination
-    @Query("SELECT q FROM Question q WHERE LOWER(q.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(q.content) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Question> searchQuestionsByTitleOrContent(@Param("query") String query, Pageable pageable);
 
-    // Search by title or content and filter by tag
-    @Query("SELECT q FROM Question q JOIN q.tags t WHERE (LOWER(q.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(q.content) LIKE LOWER(CONCAT('%', :query, '%'))) AND LOWER(t.name) = LOWER(:tag)")
-    List<Question> searchByTitleOrContentAndTag(@Param("query") String query, @Param("tag") String tag, Pageable pageable);
+    // (view_count, unique_viewers) : superposés au détail mis en cache, que les flushs de vues n'invalident pas
+    @Query(value = "SELECT view_count, unique_viewers FROM questions WHERE id = :id", nativeQuery = true)
+    List<Object[]> findViewCountsById(@Param("id") Long id);
+
+    // Full-text search on search_vector (GIN) : retourne les ids triés par pertinence
+    @Query(value = "SELECT q.id FROM questions q, to_tsquery('english', :tsQuery) query " +
+            "WHERE q.search_vector @@ query " +
+            "ORDER BY ts_rank(q.search_vector, query) DESC, q.id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> fullTextSearchIds(@Param("tsQuery") String tsQuery, @Param("limit") int limit, @Param("offset") int offset);
+
+    @Query(value = "SELECT q.id FROM questions q, to_tsquery('english', :tsQuery) query " +
+            "WHERE q.search_vector @@ query AND EXISTS (SELECT 1 FROM question_tags qt JOIN tag t ON t.id = qt.tag_id " +
+            "WHERE qt.question_id = q.id AND LOWER(t.name) = LOWER(:tag)) " +
+            "ORDER BY ts_rank(q.search_vector, query) DESC, q.id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> fullTextSearchIdsByTag(@Param("tsQuery") String tsQuery, @Param("tag") String tag,
+                                      @Param("limit") int limit, @Param("offset") int offset);
 
     // Filter by tag only with pagination
     List<Question> findByTags_Name(String tag, Pageable pageable);
 
     Page<Question> findAllByOrderByVoteScoreDesc(Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE questions SET vote_score = vote_score + :delta WHERE id = :questionId", nativeQuery = true)
+    void incrementVoteScore(@Param("questionId") Long questionId, @Param("delta") int delta);
+
+    // Recompute vote_score from the vote table, only touching rows that drifted
+    @Modifying
+    @Query(value = "UPDATE questions q SET vote_score = s.score FROM (" +
+            "SELECT x.id, COALESCE(SUM(CASE WHEN v.vote_type = 'UPVOTE' THEN 1 WHEN v.vote_type = 'DOWNVOTE' THEN -1 ELSE 0 END), 0) AS score " +
+            "FROM questions x LEFT JOIN vote v ON v.question_id = x.id GROUP BY x.id) s " +
+            "WHERE q.id = s.id AND q.vote_score <> s.score", nativeQuery = true)
+    int repairVoteScores();
     Page<Question> findAllByOrderByCreatedAtDesc(Pageable pageable);
     Page<Question> findAllByOrderByUpdatedAtDesc(Pageable pageable);
     Page<Question> findAllByOrderByTitleAsc(Pageable pageable);
+
+    // Listes : on ne sélectionne que les ids de la page, puis la projection résumé
+    @Query("SELECT q.id FROM Question q")
+    List<Long> findPageIds(Pageable pageable);
+
+    @Query("SELECT q.id FROM Question q WHERE q.answerCount = 0")
+    List<Long> findUnansweredPageIds(Pageable pageable);
+
+    @Query("SELECT q.id FROM Question q WHERE q.acceptedAnswerId IS NULL")
+    List<Long> findUnacceptedPageIds(Pageable pageable);
+
+    // Remplace la réponse acceptée et renvoie la précédente (null s'il n'y en avait pas) ;
+    // le FOR UPDATE sérialise deux acceptations concurrentes sur la même question
+    @Query(value = "UPDATE questions q SET accepted_answer_id = :answerId " +
+            "FROM (SELECT id, accepted_answer_id AS previous FROM questions WHERE id = :questionId FOR UPDATE) old " +
+            "WHERE q.id = old.id RETURNING old.previous", nativeQuery = true)
+    Long swapAcceptedAnswer(@Param("questionId") Long questionId, @Param("answerId") Long answerId);
+
+    @Modifying
+    @Query(value = "UPDATE questions SET accepted_answer_id = NULL WHERE id = :questionId AND accepted_answer_id = :answerId", nativeQuery = true)
+    int clearAcceptedAnswer(@Param("questionId") Long questionId, @Param("answerId") Long answerId);
+
+    @Query("SELECT q.id FROM Question q JOIN q.tags t WHERE t.name = :tagName")
+    List<Long> findIdsByTagName(@Param("tagName") String tagName, Sort sort);
+
+    @Query("SELECT q.id FROM Question q JOIN q.tags t WHERE LOWER(t.name) = LOWER(:tagName)")
+    List<Long> findPageIdsByTagName(@Param("tagName") String tagName, Pageable pageable);
+
+    @Query("SELECT q.id FROM Question q WHERE q.user.userId = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Sort sort);
+
+    @Query("SELECT new theBugApp.backend.dto.QuestionSummaryRow(q.id, q.title, " +
+            "COALESCE(q.snippet, SUBSTRING(q.plainTextContent, 1, 200)), q.createdAt, q.updatedAt, q.voteScore, q.answerCount, " +
+            "u.userId, i.username, u.photoUrl, u.reputation) " +
+            "FROM Question q LEFT JOIN q.user u LEFT JOIN u.infoUser i WHERE q.id IN :ids")
+    List<QuestionSummaryRow> findSummaryRowsByIds(@Param("ids") Collection<Long> ids);
+
+    List<Question> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    // Questions modifiées, ou dont une réponse a été créée / modifiée, depuis :since
+    @Query(value = "SELECT q.id FROM questions q WHERE q.updated_at > :since " +
+            "UNION SELECT a.question_id FROM answers a WHERE a.created_at > :since OR a.updated_at > :since", nativeQuery = true)
+    List<Long> findIdsChangedSince(@Param("since") Timestamp since);
+
+    @Modifying
+    @Query(value = "UPDATE questions SET answer_count = answer_count + :delta WHERE id = :questionId", nativeQuery = true)
+    void incrementAnswerCount(@Param("questionId") Long questionId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE questions q SET answer_count = s.answers FROM (" +
+            "SELECT x.id, COUNT(a.id) AS answers FROM questions x LEFT JOIN answers a ON a.question_id = x.id GROUP BY x.id) s " +
+            "WHERE q.id = s.id AND q.answer_count <> s.answers", nativeQuery = true)
+    int repairAnswerCounts();
+
+    // Score "hot" : (votes + 2 * réponses + 1) / (âge en heures + 2)^1.5, remis à 0 au-delà de la fenêtre
+    @Modifying
+    @Query(value = "UPDATE questions SET hot_score = CASE WHEN created_at >= now() - make_interval(days => :windowDays) " +
+            "THEN (GREATEST(vote_score + 2 * answer_count, -1) + 1) / POWER(EXTRACT(EPOCH FROM (now() - created_at)) / 3600 + 2, 1.5) " +
+            "ELSE 0 END " +
+            "WHERE created_at >= now() - make_interval(days => :windowDays) OR hot_score <> 0", nativeQuery = true)
+    int refreshHotScores(@Param("windowDays") int windowDays);
+
+    // Keyset pagination: first page via findPageIds, then rows strictly after the (sort key, id) of the previous page.
+    // Row comparisons match the (column, id) composite indexes, so every page costs the same.
+    @Query(value = "SELECT id FROM questions WHERE (created_at, id) < (:createdAt, :id) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findNewestAfter(@Param("createdAt") Timestamp createdAt, @Param("id") Long id, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM questions WHERE (vote_score, id) < (:voteScore, :id) " +
+            "ORDER BY vote_score DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findTopVotedAfter(@Param("voteScore") int voteScore, @Param("id") Long id, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM questions WHERE (updated_at, id) < (:updatedAt, :id) " +
+            "ORDER BY updated_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findRecentlyUpdatedAfter(@Param("updatedAt") Timestamp updatedAt, @Param("id") Long id, @Param("limit") int limit);
 }
@@ -19,6 +19,14 @@ public interface ReputationHistoryRepository extends JpaRepository<ReputationHis
                                           @Param("startDate") LocalDateTime startDate,
                                           @Param("endDate") LocalDateTime endDate);
 
+    // (reputation_seq de l'utilisateur, points de la période) lus dans le même instantané, pour DailyReputationAccumulator
+    @Query(value = "SELECT u.reputation_seq, COALESCE((SELECT SUM(rh.points) FROM reputation_history rh " +
+            "WHERE rh.user_id = u.user_id AND rh.created_at >= :startDate AND rh.created_at < :endDate), 0) " +
+            "FROM users u WHERE u.user_id = :userId", nativeQuery = true)
+    List<Object[]> findSeqAndTotalPointsInPeriod(@Param("userId") Long userId,
+                                                     @Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+
     @Query("SELECT rh FROM ReputationHistory rh WHERE rh.user.userId = :userId AND rh.createdAt >= :startDate ORDER BY rh.createdAt DESC")
     List<ReputationHistory> findUserReputationSince(@Param("userId") Long userId,
                                                     @Param("startDate") LocalDateTime startDate);
@@ -0,0 +1,7 @@
+package theBugApp.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import theBugApp.backend.entity.ReputationOutboxEvent;
+
+public interface ReputationOutboxRepository extends JpaRepository<ReputationOutboxEvent, Long> {
+}
@@ -1,8 +1,12 @@
 package theBugApp.backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import theBugApp.backend.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -12,4 +16,58 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByInfoUser_Email(String email);
     Optional<User> findById(Long id); // plus de cast de String
     Optional<User> findByInfoUser_ProviderAndInfoUser_ProviderId(String provider, String providerId);
+
+    @Query("SELECT u.reputation FROM User u WHERE u.userId = :userId")
+    Optional<Integer> findReputationById(@Param("userId") Long userId);
+
+    // Réputation fixée explicitement (mise à jour du profil) ; la colonne n'est pas écrite par JPA.
+    // reputation_seq avance comme pour toute écriture de réputation : l'agrégat du jour lu avant devient périmé
+    @Modifying
+    @Query(value = "UPDATE users SET reputation = :reputation, reputation_seq = reputation_seq + 1 " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    void setReputation(@Param("userId") Long userId, @Param("reputation") int reputation);
+
+    // Compteurs dénormalisés (UserStats) : mis à jour dans la transaction de l'écriture concernée
+    @Modifying
+    @Query(value = "UPDATE users SET followers_count = followers_count + :delta WHERE user_id = :userId", nativeQuery = true)
+    void incrementFollowersCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE users SET following_count = following_count + :delta WHERE user_id = :userId", nativeQuery = true)
+    void incrementFollowingCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE users SET question_count = question_count + :delta WHERE user_id = :userId", nativeQuery = true)
+    void incrementQuestionCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE users SET answer_count = answer_count + :delta WHERE user_id = :userId", nativeQuery = true)
+    void incrementAnswerCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE users SET vote_count = vote_count + :delta WHERE user_id = :userId", nativeQuery = true)
+    void incrementVoteCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    // Lot suivant de la réconciliation, verrouillé : les increment* concurrents attendent la fin de la réparation
+    @Query(value = "SELECT user_id FROM users WHERE user_id > :afterId ORDER BY user_id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Long> lockUserIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    // Recalcule les compteurs des utilisateurs donnés (déjà verrouillés) ; ne réécrit que les lignes qui ont dérivé
+    @Modifying
+    // reached_count : lecteurs uniques de chaque question dont l'utilisateur a écrit la question ou une réponse
+    @Query(value = "UPDATE users u SET followers_count = s.followers, following_count = s.following, " +
+            "question_count = s.questions, answer_count = s.answers, vote_count = s.votes, reached_count = s.reached " +
+            "FROM (SELECT x.user_id, " +
+            "  (SELECT COUNT(*) FROM follows f WHERE f.following_id = x.user_id) AS followers, " +
+            "  (SELECT COUNT(*) FROM follows f WHERE f.follower_id = x.user_id) AS following, " +
+            "  (SELECT COUNT(*) FROM questions q WHERE q.user_id = x.user_id) AS questions, " +
+            "  (SELECT COUNT(*) FROM answers a WHERE a.user_id = x.user_id) AS answers, " +
+            "  (SELECT COUNT(*) FROM vote v WHERE v.user_id = x.user_id) AS votes, " +
+            "  (SELECT LEAST(COALESCE(SUM(q.unique_viewers), 0), 2147483647) FROM questions q WHERE q.id IN (" +
+            "     SELECT q2.id FROM questions q2 WHERE q2.user_id = x.user_id " +
+            "     UNION SELECT a.question_id FROM answers a WHERE a.user_id = x.user_id)) AS reached " +
+            "  FROM users x WHERE x.user_id IN (:userIds)) s " +
+            "WHERE u.user_id = s.user_id AND (u.followers_count, u.following_count, u.question_count, u.answer_count, u.vote_count, u.reached_count) " +
+            "IS DISTINCT FROM (s.followers, s.following, s.questions, s.answers, s.votes, s.reached)", nativeQuery = true)
+    int reconcileStats(@Param("userIds") List<Long> userIds);
 }
@@ -48,6 +48,26 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
     @Query("SELECT v FROM Vote v WHERE v.answer.id = :answerId")
     List<Vote> findVotesByAnswerId(@Param("answerId") Long answerId);
 
+    // Contexte d'un vote en une requête : (votant, réputation, auteur de la question) ; auteur null si la question n'existe pas
+    @Query(value = "SELECT u.user_id, u.reputation, q.user_id AS author_id FROM users u " +
+            "JOIN info_user i ON i.user_id = u.app_user_id " +
+            "LEFT JOIN questions q ON q.id = :questionId WHERE i.email = :email", nativeQuery = true)
+    List<Object[]> findQuestionVoteContext(@Param("email") String email, @Param("questionId") Long questionId);
+
+    // (votant, réputation, auteur de la réponse, question de la réponse)
+    @Query(value = "SELECT u.user_id, u.reputation, a.user_id AS author_id, a.question_id FROM users u " +
+            "JOIN info_user i ON i.user_id = u.app_user_id " +
+            "LEFT JOIN answers a ON a.id = :answerId WHERE i.email = :email", nativeQuery = true)
+    List<Object[]> findAnswerVoteContext(@Param("email") String email, @Param("answerId") Long answerId);
+
+    // Votes d'un utilisateur sur une question et ses réponses : (answerId ou null, voteType).
+    // Filtré sur user_id puis question_id / answer_id : les deux index uniques de votes s'appliquent
+    @Query("SELECT v.answer.id, v.voteType FROM Vote v " +
+            "WHERE v.user.userId = (SELECT u.userId FROM User u WHERE u.infoUser.email = :email) " +
+            "AND (v.question.id = :questionId " +
+            "OR v.answer.id IN (SELECT a.id FROM Answer a WHERE a.question.id = :questionId))")
+    List<Object[]> findUserVotesOnQuestionPage(@Param("questionId") Long questionId, @Param("email") String email);
+
 
 
 
@@ -2,6 +2,7 @@ package theBugApp.backend.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import theBugApp.backend.dto.AnswerRequestDTO;
@@ -10,7 +11,6 @@ import theBugApp.backend.dto.UserDto;
 import theBugApp.backend.entity.Answer;
 import theBugApp.backend.entity.Question;
 import theBugApp.backend.entity.User;
-import theBugApp.backend.entity.Vote;
 import theBugApp.backend.enums.ReputationAction;
 import theBugApp.backend.exception.AnswerNotFoundException;
 import theBugApp.backend.exception.InsufficientReputationException;
@@ -21,7 +21,6 @@ import theBugApp.backend.mappers.UserMapper;
 import theBugApp.backend.repository.AnswerRepository;
 import theBugApp.backend.repository.QuestionRepository;
 import theBugApp.backend.repository.UserRepository;
-import theBugApp.backend.repository.VoteRepository;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -33,8 +32,11 @@ public class AnswerServiceImpl implements AnswerService {
     private final AnswerRepository answerRepository;
     private final UserRepository userRepository;
     private final QuestionRepository questionRepository;
-    private final VoteRepository voteRepository;
     private final NotificationService notificationService;
+    private final UserStatsService userStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentDerivationService contentDerivationService;
+    private final QuestionDetailCache questionDetailCache;
 
     @Autowired
     private ReputationService reputationService;
@@ -59,10 +61,14 @@ public class AnswerServiceImpl implements AnswerService {
 
         Answer answer = new Answer();
         answer.setContent(answerRequest.content());
+        contentDerivationService.applyTo(answer);
         answer.setUser(user);
         answer.setQuestion(question);
 
         Answer savedAnswer = answerRepository.save(answer);
+        userStatsService.answerCountChanged(user.getUserId(), 1);
+        questionRepository.incrementAnswerCount(question.getId(), 1);
+        eventPublisher.publishEvent(new QuestionChangedEvent(question.getId(), QuestionChangedEvent.ChangeType.ANSWER_CHANGED));
 
         // Add the answer to the question's collection
         question.getAnswers().add(savedAnswer);
@@ -85,12 +91,14 @@ public class AnswerServiceImpl implements AnswerService {
     @Override
     @Transactional(readOnly = true)
     public List<AnswerResponseDTO> getAnswersByQuestionId(Long questionId) {
-        if (!questionRepository.existsById(questionId)) {
-            throw new QuestionNotFoundException(questionId);
-        }
-        return answerRepository.findByQuestionId(questionId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return questionDetailCache.getAnswers(questionId, id -> {
+            if (!questionRepository.existsById(id)) {
+                throw new QuestionNotFoundException(id);
+            }
+            return answerRepository.findByQuestionId(id).stream()
+                    .map(this::convertToDTO)
+                    .toList();
+        });
     }
 
     @Override
@@ -105,12 +113,6 @@ public class AnswerServiceImpl implements AnswerService {
     }
     @Override
     public AnswerResponseDTO convertToDTO(Answer answer) {
-        List<Vote> votes = voteRepository.findByAnswer(answer);
-        int voteScore = (votes != null)
-                ? votes.stream()
-                .mapToInt(v -> v.getVoteType() == Vote.VoteType.UPVOTE ? 1 : -1)
-                .sum()
-                : 0;
         UserDto userDto = null;
         if (answer.getUser() != null) {
             userDto = userMapper.toUserDto(answer.getUser());  // Call your mapping method here
@@ -121,7 +123,7 @@ public class AnswerServiceImpl implements AnswerService {
                 answer.getCreatedAt(),
                 answer.getUpdatedAt(),
                 answer.isAccepted(),
-                voteScore,
+                answer.getVoteScore(),
                 userDto,
                 answer.getQuestion().getId()
         );
@@ -140,25 +142,26 @@ public class AnswerServiceImpl implements AnswerService {
             throw new UnauthorizedActionException("Only the question owner can accept an answer");
         }
 
-        // Check if there's already an accepted answer for this question
-        List<Answer> existingAcceptedAnswers = answerRepository.findByQuestionId(question.getId())
-                .stream()
-                .filter(Answer::isAccepted)
-                .collect(Collectors.toList());
+        // Pose la nouvelle réponse acceptée et récupère l'ancienne, en une requête
+        Long previousId = questionRepository.swapAcceptedAnswer(question.getId(), answerId);
+        if (answerId.equals(previousId)) {
+            return convertToDTO(answer); // déjà acceptée
+        }
 
         // If there's already an accepted answer, unaccept it first
-        if (!existingAcceptedAnswers.isEmpty()) {
-            for (Answer acceptedAnswer : existingAcceptedAnswers) {
-                acceptedAnswer.setAccepted(false);
-                answerRepository.save(acceptedAnswer);
+        if (previousId != null) {
+            answerRepository.findById(previousId).ifPresent(previous -> {
+                previous.setAccepted(false);
+                // Flush avant d'accepter la nouvelle : index unique partiel sur is_accepted
+                answerRepository.saveAndFlush(previous);
 
                 // Reverse the acceptance reputation
-                reputationService.awardReputation(acceptedAnswer.getUser().getUserId(),
+                reputationService.awardReputation(previous.getUser().getUserId(),
                         ReputationAction.ANSWER_UNACCEPTED,
                         question.getId(),
-                        acceptedAnswer.getId(),
+                        previous.getId(),
                         null);
-            }
+            });
         }
 
         // Accept the new answer
@@ -172,6 +175,8 @@ public class AnswerServiceImpl implements AnswerService {
                 answerId,
                 null);
 
+        eventPublisher.publishEvent(new QuestionChangedEvent(question.getId(), QuestionChangedEvent.ChangeType.ANSWER_ACCEPTED));
+
         // Send notifications about answer acceptance
         notificationService.notifyAnswerAccepted(updatedAnswer);
 
@@ -194,8 +199,8 @@ public class AnswerServiceImpl implements AnswerService {
             throw new UnauthorizedActionException("Only the question owner can disaccept an answer");
         }
 
-        // Check if the answer is currently accepted
-        if (!answer.isAccepted()) {
+        // Check if the answer is currently accepted (et le retire de la question dans le même UPDATE)
+        if (questionRepository.clearAcceptedAnswer(question.getId(), answerId) == 0) {
             throw new IllegalStateException("This answer is not currently accepted");
         }
 
@@ -209,6 +214,7 @@ public class AnswerServiceImpl implements AnswerService {
                 question.getId(),
                 answerId,
                 null);
+        eventPublisher.publishEvent(new QuestionChangedEvent(question.getId(), QuestionChangedEvent.ChangeType.ANSWER_ACCEPTED));
 
         // Convert the updated answer to a DTO
         return convertToDTO(updatedAnswer);
@@ -236,7 +242,9 @@ public class AnswerServiceImpl implements AnswerService {
         }
 
         answer.setContent(answerRequest.content());
+        contentDerivationService.applyTo(answer);
         Answer updatedAnswer = answerRepository.save(answer);
+        eventPublisher.publishEvent(new QuestionChangedEvent(answer.getQuestion().getId(), QuestionChangedEvent.ChangeType.ANSWER_CHANGED));
 
         // Send notifications about answer update
         notificationService.notifyAnswerUpdate(updatedAnswer);
@@ -274,6 +282,9 @@ public class AnswerServiceImpl implements AnswerService {
         // You might want to implement this to properly handle reputation when deleting
 
         answerRepository.delete(answer);
+        userStatsService.answerCountChanged(answer.getUser().getUserId(), -1);
+        questionRepository.incrementAnswerCount(answer.getQuestion().getId(), -1);
+        eventPublisher.publishEvent(new QuestionChangedEvent(answer.getQuestion().getId(), QuestionChangedEvent.ChangeType.ANSWER_CHANGED));
     }
     @Transactional(readOnly = true)
     @Override
@@ -3,6 +3,8 @@ package theBugApp.backend.service;
 import theBugApp.backend.entity.Comment;
 import theBugApp.backend.dto.CommentRequestDTO;
 import theBugApp.backend.dto.CommentResponseDTO;
+import theBugApp.backend.dto.CommentThreadDTO;
+import theBugApp.backend.dto.CommentThreadsDTO;
 
 import java.util.List;
 
@@ -14,4 +16,11 @@ public interface CommentService {
     List<CommentResponseDTO> getCommentsForQuestion(Long questionId);
 
     List<CommentResponseDTO> getCommentsForAnswer(Long answerId);
+
+    // Une requête pour la question et toutes ses réponses, au plus limitPerPost commentaires par post
+    CommentThreadsDTO getCommentThreads(Long questionId, int limitPerPost);
+
+    CommentThreadDTO getCommentsForQuestion(Long questionId, int offset, int limit);
+
+    CommentThreadDTO getCommentsForAnswer(Long answerId, int offset, int limit);
 }
@@ -1,17 +1,25 @@
 package theBugApp.backend.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import theBugApp.backend.dto.CommentRequestDTO;
 import theBugApp.backend.dto.CommentResponseDTO;
+import theBugApp.backend.dto.CommentThreadDTO;
+import theBugApp.backend.dto.CommentThreadsDTO;
 import theBugApp.backend.entity.*;
 import theBugApp.backend.exception.AnswerNotFoundException;
 import theBugApp.backend.exception.QuestionNotFoundException;
 import theBugApp.backend.exception.UserNotFoundException;
 import theBugApp.backend.repository.*;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +31,9 @@ public class CommentServiceImpl implements CommentService {
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
 
     @Override
     @Transactional
@@ -38,6 +49,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setQuestion(question);
 
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new QuestionChangedEvent(questionId, QuestionChangedEvent.ChangeType.COMMENTED));
         return convertToResponseDTO(savedComment);
     }
 
@@ -55,6 +67,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setAnswer(answer);
 
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new QuestionChangedEvent(answer.getQuestion().getId(), QuestionChangedEvent.ChangeType.COMMENTED));
         return convertToResponseDTO(savedComment);
     }
 
@@ -74,6 +87,65 @@ public class CommentServiceImpl implements CommentService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CommentThreadsDTO getCommentThreads(Long questionId, int limitPerPost) {
+        int limit = clampLimit(limitPerPost);
+        List<CommentResponseDTO> questionComments = new ArrayList<>();
+        long questionTotal = 0;
+        Map<Long, List<CommentResponseDTO>> answerComments = new LinkedHashMap<>();
+        Map<Long, Long> answerTotals = new LinkedHashMap<>();
+        for (Object[] row : commentRepository.findThreadRowsByQuestionId(questionId, limit)) {
+            Long answerId = row[4] != null ? ((Number) row[4]).longValue() : null;
+            if (answerId == null) {
+                questionComments.add(fromRow(row));
+                questionTotal = ((Number) row[5]).longValue();
+            } else {
+                answerComments.computeIfAbsent(answerId, id -> new ArrayList<>()).add(fromRow(row));
+                answerTotals.put(answerId, ((Number) row[5]).longValue());
+            }
+        }
+        Map<Long, CommentThreadDTO> answers = new LinkedHashMap<>();
+        answerComments.forEach((answerId, comments) -> answers.put(answerId, new CommentThreadDTO(comments, answerTotals.get(answerId))));
+        return new CommentThreadsDTO(new CommentThreadDTO(questionComments, questionTotal), answers);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CommentThreadDTO getCommentsForQuestion(Long questionId, int offset, int limit) {
+        return toThread(commentRepository.findRowsByQuestionId(questionId, Math.max(offset, 0), clampLimit(limit)));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CommentThreadDTO getCommentsForAnswer(Long answerId, int offset, int limit) {
+        return toThread(commentRepository.findRowsByAnswerId(answerId, Math.max(offset, 0), clampLimit(limit)));
+    }
+
+    private static int clampLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_COMMENT_PAGE_SIZE);
+    }
+
+    // Le total vient de COUNT(*) OVER () ; une page vide au-delà de la fin ne le connaît pas
+    private static CommentThreadDTO toThread(List<Object[]> rows) {
+        List<CommentResponseDTO> comments = rows.stream().map(CommentServiceImpl::fromRow).toList();
+        long total = rows.isEmpty() ? 0 : ((Number) rows.get(0)[5]).longValue();
+        return new CommentThreadDTO(comments, total);
+    }
+
+    private static CommentResponseDTO fromRow(Object[] row) {
+        Object createdAt = row[2];
+        return new CommentResponseDTO(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                createdAt instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) createdAt,
+                (String) row[3]
+        );
+    }
+
     private CommentResponseDTO convertToResponseDTO(Comment comment) {
         return new CommentResponseDTO(
                 comment.getId(),
@@ -0,0 +1,223 @@
+package theBugApp.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import theBugApp.backend.entity.BackfillCheckpoint;
+import theBugApp.backend.repository.BackfillCheckpointRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Recomputes the derived content (plain text, snippet) of existing questions and
+ * answers. Rows are read in id-ordered chunks and processed by a bounded worker
+ * pool; the checkpoint only moves past a chunk once every chunk before it is
+ * done, so an interrupted run resumes without skipping rows.
+ * <p>
+ * A row is only rewritten if its content is still the one that was read, so a
+ * concurrent edit (which derives its own plain text) always wins. Only the node
+ * holding the job's advisory lock runs the backfill.
+ */
+@Service
+public class ContentBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentBackfillService.class);
+
+    // Changer la version relance le backfill sur toutes les lignes
+    private static final String JOB_VERSION = "content-derivation-v1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContentDerivationService contentDerivationService;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final boolean enabled;
+    private final int workers;
+    private final int chunkSize;
+
+    public ContentBackfillService(JdbcTemplate jdbcTemplate,
+                                  ContentDerivationService contentDerivationService,
+                                  BackfillCheckpointRepository checkpointRepository,
+                                  @Value("${app.content-backfill.enabled:true}") boolean enabled,
+                                  @Value("${app.content-backfill.workers:4}") int workers,
+                                  @Value("${app.content-backfill.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contentDerivationService = contentDerivationService;
+        this.checkpointRepository = checkpointRepository;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+    }
+
+    private enum Target {
+        QUESTIONS("questions", "UPDATE questions SET plain_text_content = ?, snippet = ? WHERE id = ? " +
+                "AND content IS NOT DISTINCT FROM ? " +
+                "AND (plain_text_content IS DISTINCT FROM ? OR snippet IS DISTINCT FROM ?)"),
+        ANSWERS("answers", "UPDATE answers SET plain_text_content = ? WHERE id = ? " +
+                "AND content IS NOT DISTINCT FROM ? " +
+                "AND plain_text_content IS DISTINCT FROM ?");
+
+        private final String table;
+        private final String updateSql;
+
+        Target(String table, String updateSql) {
+            this.table = table;
+            this.updateSql = updateSql;
+        }
+    }
+
+    private record Row(long id, String content) {}
+
+    private record Chunk(long lastId, int rows, int changed) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnBoot() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::runAllIfLeader, "content-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the backfill while holding a session advisory lock on a dedicated
+     * connection; the other nodes see the lock taken and skip it.
+     */
+    public void runAllIfLeader() {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+                lock.setString(1, JOB_VERSION);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                runAll();
+            } finally {
+                try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+                    unlock.setString(1, JOB_VERSION);
+                    unlock.execute();
+                }
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(ran)) {
+            logger.info("Content backfill already running on another node, skipping");
+        }
+    }
+
+    private void runAll() {
+        for (Target target : Target.values()) {
+            try {
+                run(target);
+            } catch (RuntimeException ex) {
+                logger.error("Content backfill of {} stopped, it will resume from its checkpoint", target.table, ex);
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void run(Target target) throws InterruptedException {
+        String name = JOB_VERSION + ":" + target.table;
+        BackfillCheckpoint checkpoint = checkpointRepository.findById(name).orElseGet(() -> new BackfillCheckpoint(name));
+        if (checkpoint.isCompleted()) {
+            return;
+        }
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + target.table, Long.class);
+        logger.info("Content backfill of {} starting after id {} ({} rows in table)", target.table, checkpoint.getLastId(), total);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "content-backfill-" + target.table);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Au plus 2 chunks en attente par worker : la lecture ne prend pas d'avance sur les écritures
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        long lastRead = checkpoint.getLastId();
+        long changed = 0;
+        long start = System.currentTimeMillis();
+        long processedBefore = checkpoint.getProcessed();
+        try {
+            while (true) {
+                List<Row> rows = jdbcTemplate.query(
+                        "SELECT id, content FROM " + target.table + " WHERE id > ? ORDER BY id LIMIT ?",
+                        (rs, i) -> new Row(rs.getLong(1), rs.getString(2)), lastRead, chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lastRead = rows.get(rows.size() - 1).id();
+                inFlight.addLast(pool.submit(() -> process(target, rows)));
+                while (inFlight.size() >= workers * 2) {
+                    changed += complete(inFlight.removeFirst(), checkpoint, total, start, processedBefore);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                changed += complete(inFlight.removeFirst(), checkpoint, total, start, processedBefore);
+            }
+            checkpoint.setCompleted(true);
+            saveCheckpoint(checkpoint);
+            logger.info("Content backfill of {} done: {} rows processed, {} changed, in {} s",
+                    target.table, checkpoint.getProcessed(), changed, (System.currentTimeMillis() - start) / 1000);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int complete(Future<Chunk> future, BackfillCheckpoint checkpoint, Long total,
+                         long start, long processedBefore) throws InterruptedException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Content backfill chunk failed", ex.getCause());
+        }
+        checkpoint.setLastId(chunk.lastId());
+        checkpoint.setProcessed(checkpoint.getProcessed() + chunk.rows());
+        saveCheckpoint(checkpoint);
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        logger.info("Content backfill {}: {}/{} rows, up to id {} ({} rows/s)", checkpoint.getName(),
+                checkpoint.getProcessed(), total, chunk.lastId(), (checkpoint.getProcessed() - processedBefore) * 1000 / elapsed);
+        return chunk.changed();
+    }
+
+    // N'écrit que les lignes dont le contenu dérivé change et dont le contenu n'a pas été modifié depuis la lecture ;
+    // updated_at n'est pas touché
+    private Chunk process(Target target, List<Row> rows) {
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            ContentDerivationService.DerivedContent derived = contentDerivationService.derive(row.content());
+            if (target == Target.QUESTIONS) {
+                updates.add(new Object[]{derived.plainText(), derived.snippet(), row.id(), row.content(),
+                        derived.plainText(), derived.snippet()});
+            } else {
+                updates.add(new Object[]{derived.plainText(), row.id(), row.content(), derived.plainText()});
+            }
+        }
+        int changed = 0;
+        for (int count : jdbcTemplate.batchUpdate(target.updateSql, updates)) {
+            changed += Math.max(count, 0);
+        }
+        return new Chunk(rows.get(rows.size() - 1).id(), rows.size(), changed);
+    }
+
+    private void saveCheckpoint(BackfillCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+}
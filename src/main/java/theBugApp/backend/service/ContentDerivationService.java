@@ -0,0 +1,53 @@
+package theBugApp.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import theBugApp.backend.entity.Answer;
+import theBugApp.backend.entity.Question;
+
+/**
+ * Single place where the fields derived from Lexical content are computed.
+ * Every write path that changes question or answer content goes through here;
+ * the search_vector column is derived from plainTextContent by a Postgres trigger.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContentDerivationService {
+
+    public static final int SNIPPET_LENGTH = 200;
+
+    private final LexicalContentProcessor lexicalProcessor;
+
+    public record DerivedContent(String plainText, String snippet) {}
+
+    public DerivedContent derive(String content) {
+        String plainText = lexicalProcessor.analyze(content).plainText();
+        return new DerivedContent(plainText, snippet(plainText));
+    }
+
+    public void applyTo(Question question) {
+        DerivedContent derived = derive(question.getContent());
+        question.setPlainTextContent(derived.plainText());
+        question.setSnippet(derived.snippet());
+    }
+
+    public void applyTo(Answer answer) {
+        answer.setPlainTextContent(derive(answer.getContent()).plainText());
+    }
+
+    // Espaces normalisés, coupé au dernier mot complet
+    static String snippet(String plainText) {
+        if (plainText == null) {
+            return null;
+        }
+        String collapsed = plainText.replaceAll("\\s+", " ").trim();
+        if (collapsed.length() <= SNIPPET_LENGTH) {
+            return collapsed;
+        }
+        int cut = collapsed.lastIndexOf(' ', SNIPPET_LENGTH);
+        if (cut < SNIPPET_LENGTH / 2) {
+            cut = SNIPPET_LENGTH;
+        }
+        return collapsed.substring(0, cut) + "…";
+    }
+}
@@ -0,0 +1,81 @@
+package theBugApp.backend.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import theBugApp.backend.service.cache.InvalidationKey;
+import theBugApp.backend.service.cache.InvalidationListener;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reputation earned today by each user, kept in memory so the daily limit no
+ * longer needs a {@code SUM} over {@code reputation_history}.
+ * An entry is seeded lazily from the history and stamped with the
+ * {@code users.reputation_seq} it was computed against. {@link ReputationLedgerProcessor}
+ * bumps that counter whenever it writes history for a user and records the new
+ * total once its transaction has committed, so a stamp that no longer matches
+ * the locked row means another node got there first: the entry is then
+ * ignored and seeded again.
+ * The display path has no row to compare against, so the entry is also dropped
+ * when the ledger publishes the user's invalidation key (on every node, after
+ * commit); the ledger publishes before recording so its own fresh total survives.
+ * Entries of previous days are never returned and are dropped at midnight.
+ */
+@Component
+public class DailyReputationAccumulator implements InvalidationListener {
+
+    private record Entry(LocalDate day, int earned, long seq) {
+    }
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Total exact du jour, ou null si l'entrée manque ou précède la dernière écriture du ledger pour cet utilisateur
+    public Integer earnedToday(Long userId, long seq) {
+        Entry entry = entries.get(userId);
+        if (entry == null || entry.seq() != seq || !entry.day().equals(LocalDate.now())) {
+            return null;
+        }
+        return entry.earned();
+    }
+
+    // Pour l'affichage : l'entrée du jour quel que soit son reputation_seq
+    public Integer earnedToday(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null || !entry.day().equals(LocalDate.now())) {
+            return null;
+        }
+        return entry.earned();
+    }
+
+    public void record(Long userId, LocalDate day, int earned, long seq) {
+        if (!day.equals(LocalDate.now())) {
+            return;
+        }
+        // Un amorçage lu avant la dernière écriture du ledger ne remplace pas une entrée plus récente
+        entries.merge(userId, new Entry(day, earned, seq),
+                (current, next) -> current.day().equals(day) && current.seq() > seq ? current : next);
+    }
+
+    @Override
+    public void invalidate(InvalidationKey key) {
+        if (key.kind() == InvalidationKey.Kind.USER) {
+            entries.remove(key.longValue());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    @Scheduled(cron = "${app.reputation.daily-rollover-cron:0 0 0 * * *}")
+    public void rollOver() {
+        LocalDate today = LocalDate.now();
+        entries.values().removeIf(entry -> !entry.day().equals(today));
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
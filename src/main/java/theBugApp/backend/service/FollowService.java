@@ -6,8 +6,11 @@ import org.springframework.transaction.annotation.Transactional;
 import theBugApp.backend.dto.*;
 import theBugApp.backend.entity.*;
 import theBugApp.backend.exception.*;
+import theBugApp.backend.mappers.QuestionMapper;
 import theBugApp.backend.mappers.UserMapper;
 import theBugApp.backend.repository.*;
+import theBugApp.backend.service.cache.InvalidationBus;
+import theBugApp.backend.service.cache.InvalidationKey;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -27,9 +30,11 @@ public class FollowService {
     private final FollowQuestionRepository followQuestionRepository;
     private final AnswerRepository answerRepository;
     private final FollowAnswerRepository followAnswerRepository;
-    private final QuestionService questionService;
+    private final QuestionMapper questionMapper;
     private final AnswerService answerService;
     private final TagService tagService;
+    private final UserStatsService userStatsService;
+    private final InvalidationBus invalidationBus;
 
     // Suivre un utilisateur
     public boolean followUser(Long followerId, Long followingId) throws UserNotFoundException {
@@ -52,6 +57,8 @@ public class FollowService {
         // Créer la relation de suivi
         Follow follow = new Follow(follower, following);
         followRepository.save(follow);
+        userStatsService.followChanged(followerId, followingId, 1);
+        invalidateUsers(followerId, followingId);
         return true;
     }
 
@@ -69,6 +76,8 @@ public class FollowService {
 
         // Supprimer la relation
         followRepository.deleteByFollowerAndFollowing(follower, following);
+        userStatsService.followChanged(followerId, followingId, -1);
+        invalidateUsers(followerId, followingId);
         return true;
     }
 
@@ -134,6 +143,7 @@ public class FollowService {
         followTag.setTag(tag);
 
         followTagRepository.save(followTag);
+        invalidationBus.publish(InvalidationKey.tag(tag.getName()));
     }
 
     public void followQuestion(Long questionId, String userEmail) {
@@ -196,6 +206,7 @@ public class FollowService {
                 .orElseThrow(() -> new RuntimeException("Follow tag relationship not found"));
 
         followTagRepository.delete(followTag);
+        invalidationBus.publish(InvalidationKey.tag(tag.getName()));
     }
 
     public void unfollowQuestion(Long questionId, String userEmail) {
@@ -256,14 +267,12 @@ public class FollowService {
         User user = userRepository.findByInfoUser_Email(userEmail)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        // Use TreeSet to ensure uniqueness
-        Set<QuestionResponseDTO> uniqueQuestions = followQuestionRepository.findByUserUserId(user.getUserId())
-                .stream()
-                .map(followQuestion -> questionService.convertToResponseDTO(followQuestion.getQuestion()))
-                .collect(Collectors.toCollection(() -> new TreeSet<>(Comparator.comparing(QuestionResponseDTO::id))));
+        // Use TreeMap to ensure uniqueness, ordered by question id
+        Map<Long, Question> uniqueQuestions = new TreeMap<>();
+        followQuestionRepository.findByUserUserId(user.getUserId())
+                .forEach(followQuestion -> uniqueQuestions.putIfAbsent(followQuestion.getQuestion().getId(), followQuestion.getQuestion()));
 
-        // Convert the Set to a List
-        return new ArrayList<>(uniqueQuestions);
+        return questionMapper.toResponseDTOs(new ArrayList<>(uniqueQuestions.values()));
     }
 
     @Transactional(readOnly = true)
@@ -283,4 +292,9 @@ public class FollowService {
 
 
 
-}
\ No newline at end of file
+
+    private void invalidateUsers(Long followerId, Long followingId) {
+        invalidationBus.publish(InvalidationKey.user(followerId));
+        invalidationBus.publish(InvalidationKey.user(followingId));
+    }
+}
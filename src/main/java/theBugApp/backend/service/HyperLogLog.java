@@ -0,0 +1,110 @@
+package theBugApp.backend.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog cardinality sketch with 2^11 one-byte registers: 2 KB whatever the
+ * number of distinct values offered, with a standard error of about 2.3%.
+ * Sketches merge by taking the register-wise maximum, which is how the in-memory
+ * sketch of a flush interval is folded into the one stored on the question row.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 11;
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    // Un tableau absent ou d'une autre taille (ancien format) repart d'un sketch vide
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTERS) {
+            return new HyperLogLog();
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    public byte[] toBytes() {
+        synchronized (registers) {
+            return registers.clone();
+        }
+    }
+
+    public void offer(String value) {
+        offerHash(hash64(value));
+    }
+
+    public void offerHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Rang du premier bit à 1 dans les bits restants (+1), borné si tous sont à 0
+        byte rank = (byte) (Math.min(Long.numberOfLeadingZeros(hash << PRECISION), 64 - PRECISION) + 1);
+        synchronized (registers) {
+            if (rank > registers[index]) {
+                registers[index] = rank;
+            }
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        byte[] theirs = other.toBytes();
+        synchronized (registers) {
+            for (int i = 0; i < REGISTERS; i++) {
+                if (theirs[i] > registers[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+
+    public long estimate() {
+        byte[] snapshot = toBytes();
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : snapshot) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // Petites cardinalités : le comptage linéaire est bien plus précis
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public boolean isEmpty() {
+        byte[] snapshot = toBytes();
+        for (byte register : snapshot) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a 64 bits suivi du finaliseur de MurmurHash3 pour bien répartir les bits de poids fort
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
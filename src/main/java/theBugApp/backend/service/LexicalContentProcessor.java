@@ -1,55 +1,139 @@
 package theBugApp.backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
+/**
+ * Extracts the plain text of Lexical editor JSON with a single streaming pass:
+ * no JsonNode tree is built, and the text is accumulated in a per-thread buffer.
+ */
 @Component
 public class LexicalContentProcessor {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    // Au-delà, le buffer n'est pas conservé pour ne pas garder un gros post en mémoire
+    private static final int MAX_RETAINED_BUFFER = 256 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
 
-    public String extractPlainText(String lexicalJson) {
-        try {
-            JsonNode root = objectMapper.readTree(lexicalJson);
-            JsonNode rootNode = root.get("root");
-
-            if (rootNode != null && rootNode.has("children")) {
-                StringBuilder plainText = new StringBuilder();
-                extractTextFromChildren(rootNode.get("children"), plainText);
-                return plainText.toString().trim();
-            }
+    public record LexicalExtraction(boolean lexical, String plainText) {}
 
-            return "";
-        } catch (Exception e) {
+    /**
+     * Detects the format and extracts the plain text in one pass. Content that is
+     * not valid JSON is returned as is; valid JSON without root.children is not
+     * Lexical and yields an empty text.
+     */
+    public LexicalExtraction analyze(String content) {
+        if (content == null) {
+            return new LexicalExtraction(false, null);
+        }
+        StringBuilder plainText = BUFFER.get();
+        plainText.setLength(0);
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            boolean lexical = parser.nextToken() == JsonToken.START_OBJECT && readDocument(parser, plainText);
+            return new LexicalExtraction(lexical, lexical ? plainText.toString().trim() : "");
+        } catch (IOException e) {
             // If it's not valid JSON or not Lexical format, treat as plain text
-            return lexicalJson;
+            return new LexicalExtraction(false, content);
+        } finally {
+            if (plainText.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    public String extractPlainText(String lexicalJson) {
+        return analyze(lexicalJson).plainText();
+    }
+
+    // { ..., "root": { ..., "children": [ nodes ] } } ; true si root.children existe
+    private boolean readDocument(JsonParser parser, StringBuilder plainText) throws IOException {
+        boolean lexical = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"root".equals(field)) {
+                parser.skipChildren();
+            } else if (value == JsonToken.START_OBJECT) {
+                plainText.setLength(0);
+                lexical = readRoot(parser, plainText);
+            } else {
+                lexical = false;
+                parser.skipChildren();
+            }
         }
+        return lexical;
     }
 
-    private void extractTextFromChildren(JsonNode children, StringBuilder plainText) {
-        if (children.isArray()) {
-            for (JsonNode child : children) {
-                if (child.has("text")) {
-                    plainText.append(child.get("text").asText());
+    private boolean readRoot(JsonParser parser, StringBuilder plainText) throws IOException {
+        boolean hasChildren = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("children".equals(field)) {
+                hasChildren = true;
+                plainText.setLength(0);
+                if (value == JsonToken.START_ARRAY) {
+                    readChildren(parser, plainText);
+                    continue;
                 }
-                if (child.has("children")) {
-                    extractTextFromChildren(child.get("children"), plainText);
-                    // Add line break for paragraph nodes
-                    if ("paragraph".equals(child.get("type").asText())) {
-                        plainText.append("\n");
+            }
+            parser.skipChildren();
+        }
+        return hasChildren;
+    }
+
+    private void readChildren(JsonParser parser, StringBuilder plainText) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                readNode(parser, plainText);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * A node's own text comes before the text of its children whatever the field
+     * order, so it is inserted at the position the node started at.
+     */
+    private void readNode(JsonParser parser, StringBuilder plainText) throws IOException {
+        int start = plainText.length();
+        String text = null;
+        String type = null;
+        boolean hasChildren = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "text" -> text = value.isScalarValue() ? parser.getText() : skipToEmpty(parser);
+                case "type" -> type = value.isScalarValue() ? parser.getText() : skipToEmpty(parser);
+                case "children" -> {
+                    hasChildren = true;
+                    if (value == JsonToken.START_ARRAY) {
+                        readChildren(parser, plainText);
+                    } else {
+                        parser.skipChildren();
                     }
                 }
+                default -> parser.skipChildren();
             }
         }
+        if (text != null) {
+            plainText.insert(start, text);
+        }
+        // Add line break for paragraph nodes
+        if (hasChildren && "paragraph".equals(type)) {
+            plainText.append('\n');
+        }
     }
 
-    public boolean isLexicalJson(String content) {
-        try {
-            JsonNode root = objectMapper.readTree(content);
-            return root.has("root") && root.get("root").has("children");
-        } catch (Exception e) {
-            return false;
-        }
+    private static String skipToEmpty(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return "";
     }
 }
@@ -0,0 +1,57 @@
+package theBugApp.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import theBugApp.backend.enums.PrivilegeTier;
+import theBugApp.backend.exception.UserNotFoundException;
+import theBugApp.backend.repository.UserRepository;
+import theBugApp.backend.service.cache.PrivilegeCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves every {@link PrivilegeTier} of a user from a single reputation read
+ * and caches the resulting bits, so a privilege check costs a map lookup
+ * instead of loading the user row.
+ */
+@Service
+public class PrivilegeResolver {
+
+    private final UserRepository userRepository;
+    private final PrivilegeCache privilegeCache;
+    private final boolean embedInJwt;
+
+    public PrivilegeResolver(UserRepository userRepository,
+                             PrivilegeCache privilegeCache,
+                             @Value("${app.jwt.embed-privileges:false}") boolean embedInJwt) {
+        this.userRepository = userRepository;
+        this.privilegeCache = privilegeCache;
+        this.embedInJwt = embedInJwt;
+    }
+
+    public int resolve(Long userId) {
+        return privilegeCache.get(userId, id -> PrivilegeTier.bitsFor(userRepository.findReputationById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id))));
+    }
+
+    public boolean has(Long userId, PrivilegeTier tier) {
+        return tier.isIn(resolve(userId));
+    }
+
+    public Map<String, Boolean> describe(Long userId) {
+        int bits = resolve(userId);
+        Map<String, Boolean> privileges = new LinkedHashMap<>();
+        for (PrivilegeTier tier : PrivilegeTier.values()) {
+            privileges.put(tier.getKey(), tier.isIn(bits));
+        }
+        return privileges;
+    }
+
+    // Option app.jwt.embed-privileges : les bits du jeton reflètent la réputation à l'émission
+    public void addClaims(Map<String, Object> claims, int reputation) {
+        if (embedInJwt) {
+            claims.put("privileges", PrivilegeTier.bitsFor(reputation));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package theBugApp.backend.service;
+
+/**
+ * Published inside the transaction that changed a question or one of its answers.
+ * Listeners that keep derived state (search index, caches) react after commit.
+ */
+public record QuestionChangedEvent(Long questionId, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED(true),
+        UPDATED(true),
+        ANSWER_CHANGED(true),
+        ANSWER_ACCEPTED(false),
+        VOTED(false),
+        COMMENTED(false);
+
+        private final boolean contentChanged;
+
+        ChangeType(boolean contentChanged) {
+            this.contentChanged = contentChanged;
+        }
+
+        // false quand seuls les scores, l'acceptation ou les commentaires ont changé
+        public boolean isContentChanged() {
+            return contentChanged;
+        }
+    }
+}
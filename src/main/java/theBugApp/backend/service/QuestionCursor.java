@@ -0,0 +1,58 @@
+package theBugApp.backend.service;
+
+import theBugApp.backend.dto.QuestionSummaryDTO;
+import theBugApp.backend.enums.QuestionSort;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position of the last question of a keyset page: the value of the sort column
+ * plus the id as tie-breaker. Clients only see it as an opaque base64 string.
+ */
+public record QuestionCursor(QuestionSort sort, long key, int nanos, long id) {
+
+    public static QuestionCursor after(QuestionSort sort, QuestionSummaryDTO last) {
+        return switch (sort) {
+            case NEWEST -> ofDate(sort, last.createdAt(), last.id());
+            case ACTIVE -> ofDate(sort, last.updatedAt(), last.id());
+            case VOTES -> new QuestionCursor(sort, last.voteScore(), 0, last.id());
+            default -> throw new IllegalArgumentException("Cursor pagination is not available for sort " + sort.getParam());
+        };
+    }
+
+    private static QuestionCursor ofDate(QuestionSort sort, Date date, Long id) {
+        // Timestamp garde les microsecondes de Postgres, une Date simple seulement les millisecondes
+        Instant instant = date.toInstant();
+        return new QuestionCursor(sort, instant.getEpochSecond(), instant.getNano(), id);
+    }
+
+    public Timestamp timestamp() {
+        return Timestamp.from(Instant.ofEpochSecond(key, nanos));
+    }
+
+    public String encode() {
+        String raw = sort.getParam() + ":" + key + ":" + nanos + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static QuestionCursor decode(String cursor, QuestionSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            QuestionSort sort = QuestionSort.fromParam(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Cursor does not match sort " + expectedSort.getParam());
+            }
+            return new QuestionCursor(sort, Long.parseLong(parts[1]), Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
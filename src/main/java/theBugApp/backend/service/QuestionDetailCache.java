@@ -0,0 +1,124 @@
+package theBugApp.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import theBugApp.backend.dto.AnswerResponseDTO;
+import theBugApp.backend.dto.QuestionResponseDTO;
+import theBugApp.backend.service.cache.InvalidationKey;
+import theBugApp.backend.service.cache.InvalidationListener;
+import theBugApp.backend.service.cache.SingleFlight;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of question details and answer lists (Caffeine, W-TinyLFU).
+ * Entries are weighed by their approximate size in bytes, so a few huge posts
+ * cannot push out many small ones. Every committed {@link QuestionChangedEvent}
+ * evicts the question on all nodes through the invalidation bus; the TTL only
+ * bounds staleness of author statistics. View counts are not served from here:
+ * {@link QuestionServiceImpl#getQuestionById} overlays the stored ones.
+ * Misses go through a {@link SingleFlight} per endpoint, so a burst of requests
+ * for a question that is not cached yet runs its queries once.
+ */
+@Component
+public class QuestionDetailCache implements InvalidationListener {
+
+    private final Cache<Long, QuestionResponseDTO> questions;
+    private final Cache<Long, List<AnswerResponseDTO>> answers;
+    private final SingleFlight<Long, QuestionResponseDTO> questionLoads = new SingleFlight<>();
+    private final SingleFlight<Long, List<AnswerResponseDTO>> answerLoads = new SingleFlight<>();
+
+    public QuestionDetailCache(@Value("${app.cache.question-detail.max-bytes:67108864}") long maxBytes,
+                               @Value("${app.cache.question-detail.ttl-seconds:600}") long ttlSeconds) {
+        this.questions = Caffeine.newBuilder()
+                .maximumWeight(maxBytes / 2)
+                .weigher((Long id, QuestionResponseDTO dto) -> weigh(dto))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.answers = Caffeine.newBuilder()
+                .maximumWeight(maxBytes / 2)
+                .weigher((Long id, List<AnswerResponseDTO> list) -> weigh(list))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public QuestionResponseDTO getQuestion(Long questionId, Function<Long, QuestionResponseDTO> loader) {
+        QuestionResponseDTO cached = questions.getIfPresent(questionId);
+        return cached != null ? cached : questionLoads.execute(questionId, loader, questions::put);
+    }
+
+    public List<AnswerResponseDTO> getAnswers(Long questionId, Function<Long, List<AnswerResponseDTO>> loader) {
+        List<AnswerResponseDTO> cached = answers.getIfPresent(questionId);
+        return cached != null ? cached : answerLoads.execute(questionId, loader, answers::put);
+    }
+
+    // Oublier le chargement en cours avant d'invalider : il a pu lire l'ancienne ligne
+    public void evict(Long questionId) {
+        questionLoads.forget(questionId);
+        answerLoads.forget(questionId);
+        questions.invalidate(questionId);
+        answers.invalidate(questionId);
+    }
+
+    @Override
+    public void invalidate(InvalidationKey key) {
+        if (key.kind() == InvalidationKey.Kind.QUESTION) {
+            evict(key.longValue());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        questionLoads.forgetAll();
+        answerLoads.forgetAll();
+        questions.invalidateAll();
+        answers.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("questions", describe(questions.stats(), questions.estimatedSize(), questionLoads));
+        stats.put("answers", describe(answers.stats(), answers.estimatedSize(), answerLoads));
+        return stats;
+    }
+
+    private static Map<String, Object> describe(CacheStats stats, long size, SingleFlight<?, ?> loads) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", size);
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        values.put("evictedBytes", stats.evictionWeight());
+        values.put("coalescedLoads", loads.coalescedCount());
+        return values;
+    }
+
+    // Approximation : 2 octets par caractère + un forfait par objet
+    private static int weigh(QuestionResponseDTO dto) {
+        long bytes = 512L + chars(dto.title()) * 2L + chars(dto.content()) * 2L + chars(dto.plainTextContent()) * 2L
+                + (dto.tags() != null ? dto.tags().size() * 64L : 0);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int weigh(List<AnswerResponseDTO> list) {
+        long bytes = 64;
+        for (AnswerResponseDTO answer : list) {
+            bytes += 512L + chars(answer.content()) * 2L;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int chars(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,112 @@
+package theBugApp.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import theBugApp.backend.dto.AnswerResponseDTO;
+import theBugApp.backend.dto.CommentThreadsDTO;
+import theBugApp.backend.dto.QuestionPageDTO;
+import theBugApp.backend.dto.QuestionResponseDTO;
+import theBugApp.backend.entity.Vote;
+import theBugApp.backend.repository.VoteRepository;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Assembles a whole question page: question, sorted answers, comments grouped by
+ * post (first comments of each thread, see {@link CommentService#getCommentThreads})
+ * and the caller's votes. The four parts are independent and load in parallel on
+ * a bounded pool; the page costs the two cached reads plus one comment query and
+ * one vote query, whatever the number of answers.
+ */
+@Service
+public class QuestionPageService {
+
+    private static final Comparator<AnswerResponseDTO> PAGE_ORDER = Comparator
+            .comparing(AnswerResponseDTO::isAccepted).reversed()
+            .thenComparing(Comparator.comparingInt(AnswerResponseDTO::voteScore).reversed())
+            .thenComparing(AnswerResponseDTO::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(AnswerResponseDTO::id);
+
+    private final QuestionService questionService;
+    private final AnswerService answerService;
+    private final CommentService commentService;
+    private final VoteRepository voteRepository;
+    private final TransactionTemplate readTransaction;
+    private final ThreadPoolExecutor executor;
+    private final int commentsPerPost;
+
+    public QuestionPageService(QuestionService questionService,
+                               AnswerService answerService,
+                               CommentService commentService,
+                               VoteRepository voteRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.question-page.threads:16}") int threads,
+                               @Value("${app.question-page.queue-capacity:256}") int queueCapacity,
+                               @Value("${app.question-page.comments-per-post:5}") int commentsPerPost) {
+        this.questionService = questionService;
+        this.answerService = answerService;
+        this.commentService = commentService;
+        this.voteRepository = voteRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.commentsPerPost = commentsPerPost;
+        // File bornée ; si elle est pleine, la requête HTTP exécute elle-même la tâche
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "question-page-loader");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public QuestionPageDTO getPage(Long questionId, String callerEmail) {
+        CompletableFuture<QuestionResponseDTO> question = load(() -> questionService.getQuestionById(questionId));
+        CompletableFuture<List<AnswerResponseDTO>> answers = load(() -> answerService.getAnswersByQuestionId(questionId));
+        CompletableFuture<CommentThreadsDTO> comments = load(() -> commentService.getCommentThreads(questionId, commentsPerPost));
+        CompletableFuture<List<Object[]>> votes = callerEmail == null
+                ? CompletableFuture.completedFuture(List.of())
+                : load(() -> readTransaction.execute(status -> voteRepository.findUserVotesOnQuestionPage(questionId, callerEmail)));
+
+        List<AnswerResponseDTO> sortedAnswers = new ArrayList<>(join(answers));
+        sortedAnswers.sort(PAGE_ORDER);
+
+        Vote.VoteType questionVote = null;
+        Map<Long, Vote.VoteType> answerVotes = new HashMap<>();
+        for (Object[] row : join(votes)) {
+            if (row[0] == null) {
+                questionVote = (Vote.VoteType) row[1];
+            } else {
+                answerVotes.put((Long) row[0], (Vote.VoteType) row[1]);
+            }
+        }
+
+        return new QuestionPageDTO(join(question), sortedAnswers, join(comments), questionVote, answerVotes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> load(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    // Relance l'exception d'origine (QuestionNotFoundException -> 404 dans le contrôleur)
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package theBugApp.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import theBugApp.backend.enums.QuestionSort;
+import theBugApp.backend.repository.QuestionRepository;
+
+import java.util.List;
+
+/**
+ * Resolves a {@link QuestionSort} to an index-backed repository query and keeps
+ * the precomputed ranking columns (hot_score, answer_count) up to date.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class QuestionRankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionRankingService.class);
+
+    private final QuestionRepository questionRepository;
+
+    // Questions plus anciennes que la fenêtre ont un hot_score de 0
+    @Value("${app.ranking.hot-window-days:30}")
+    private int hotWindowDays;
+
+    // Ids de la page, dans l'ordre du mode ; l'ordre éventuel du Pageable est ignoré
+    @Transactional(readOnly = true)
+    public List<Long> findPageIds(QuestionSort sort, Pageable pageable) {
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.getSort());
+        return switch (sort) {
+            case UNANSWERED -> questionRepository.findUnansweredPageIds(page);
+            case UNACCEPTED -> questionRepository.findUnacceptedPageIds(page);
+            default -> questionRepository.findPageIds(page);
+        };
+    }
+
+    @Scheduled(initialDelayString = "${app.ranking.hot-initial-delay-ms:30000}",
+            fixedDelayString = "${app.ranking.hot-refresh-interval-ms:300000}")
+    public void refreshHotScores() {
+        int updated = questionRepository.refreshHotScores(hotWindowDays);
+        logger.debug("Refreshed hot score of {} questions", updated);
+    }
+
+    @Scheduled(initialDelayString = "${app.ranking.repair-initial-delay-ms:90000}",
+            fixedDelayString = "${app.ranking.repair-interval-ms:3600000}")
+    public void repairAnswerCounts() {
+        int repaired = questionRepository.repairAnswerCounts();
+        if (repaired > 0) {
+            logger.warn("Answer count repair fixed {} questions", repaired);
+        }
+    }
+}
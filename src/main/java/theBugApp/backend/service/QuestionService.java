@@ -1,11 +1,13 @@
 package theBugApp.backend.service;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
+import theBugApp.backend.dto.CursorPageDTO;
 import theBugApp.backend.dto.QuestionRequestDTO;
 import theBugApp.backend.dto.QuestionResponseDTO;
+import theBugApp.backend.dto.QuestionSummaryDTO;
 import theBugApp.backend.entity.Question;
+import theBugApp.backend.enums.QuestionSort;
 
 import java.util.List;
 public interface QuestionService {
@@ -13,14 +15,16 @@ public interface QuestionService {
     QuestionResponseDTO getQuestionById(Long id);
     List<QuestionResponseDTO> getAllQuestions();
 
-    Page<QuestionResponseDTO> getAllQuestions(Pageable pageable, String sortBy);
+    List<QuestionSummaryDTO> getAllQuestions(Pageable pageable, String sortBy);
 
-    Page<QuestionResponseDTO> getAllQuestions(Pageable pageable);
+    List<QuestionSummaryDTO> getAllQuestions(Pageable pageable);
+
+    CursorPageDTO<QuestionSummaryDTO> scrollQuestions(QuestionSort sort, String after, int limit);
 
     QuestionResponseDTO convertToResponseDTO(Question question);
 
     @Transactional(readOnly = true)
-    List<QuestionResponseDTO> searchQuestions(String query, String tag, int page, int size);
+    List<QuestionSummaryDTO> searchQuestions(String query, String tag, int page, int size);
 
     // Add this method if you plan to implement question updates
     @Transactional
@@ -2,7 +2,7 @@ package theBugApp.backend.service;
 
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 
 import org.springframework.data.domain.Pageable;
@@ -12,19 +12,17 @@ import theBugApp.backend.dto.*;
 import theBugApp.backend.entity.Question;
 import theBugApp.backend.entity.Tag;
 import theBugApp.backend.entity.User;
-import theBugApp.backend.entity.Vote;
+import theBugApp.backend.enums.QuestionSort;
 import theBugApp.backend.exception.QuestionNotFoundException;
 import theBugApp.backend.exception.UnauthorizedActionException;
-import theBugApp.backend.mappers.UserMapper;
+import theBugApp.backend.mappers.QuestionMapper;
 import theBugApp.backend.repository.QuestionRepository;
 import theBugApp.backend.repository.UserRepository;
-import theBugApp.backend.repository.VoteRepository;
+import theBugApp.backend.service.cache.InvalidationBus;
+import theBugApp.backend.service.cache.InvalidationKey;
+import theBugApp.backend.service.search.QuestionSearchEngine;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -34,10 +32,17 @@ public class QuestionServiceImpl implements QuestionService {
     private final QuestionRepository questionRepository;
     private final UserRepository userRepository;
     private final TagService tagService;
-    private final VoteRepository voteRepository;
     private final NotificationService notificationService;
-    private final LexicalContentProcessor lexicalProcessor;
-    private final UserMapper userMapper;
+    private final ContentDerivationService contentDerivationService;
+    private final QuestionMapper questionMapper;
+    private final UserStatsService userStatsService;
+    private final QuestionRankingService questionRankingService;
+    private final QuestionSearchEngine questionSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QuestionDetailCache questionDetailCache;
+    private final InvalidationBus invalidationBus;
+
+    private static final int MAX_SCROLL_LIMIT = 100;
 
     @Override
     @Transactional
@@ -48,117 +53,107 @@ public class QuestionServiceImpl implements QuestionService {
         Question question = new Question();
         question.setTitle(request.title());
         question.setContent(request.content());
-        String plainText = lexicalProcessor.extractPlainText(request.content());
-        question.setPlainTextContent(plainText);
+        contentDerivationService.applyTo(question);
         question.setUser(user);
         question.setVoteScore(0);
+        question.setAnswerCount(0);
         if (request.tagNames() != null && !request.tagNames().isEmpty()) {
             Set<Tag> tags = tagService.getOrCreateTags(request.tagNames());
             question.setTags(new HashSet<>(tags));
+            invalidateTags(tags);
         }
 
         Question savedQuestion = questionRepository.save(question);
+        userStatsService.questionCountChanged(user.getUserId(), 1);
+        eventPublisher.publishEvent(new QuestionChangedEvent(savedQuestion.getId(), QuestionChangedEvent.ChangeType.CREATED));
         notificationService.notifyNewQuestionWithTags(savedQuestion);
 
         return convertToResponseDTO(savedQuestion);
     }
     @Override
     public QuestionResponseDTO getQuestionById(Long id) {
-        Question question = questionRepository.findById(id)
-                .orElseThrow(() -> new QuestionNotFoundException(id));
-        return convertToResponseDTO(question);
+        QuestionResponseDTO cached = questionDetailCache.getQuestion(id, questionId -> {
+            Question question = questionRepository.findById(questionId)
+                    .orElseThrow(() -> new QuestionNotFoundException(questionId));
+            return convertToResponseDTO(question);
+        });
+        // Les vues sont écrites par lots sans invalidation : relues à chaque appel (clé primaire)
+        List<Object[]> counts = questionRepository.findViewCountsById(id);
+        if (counts.isEmpty()) {
+            return cached;
+        }
+        return cached.withViewCounts((int) Math.min(((Number) counts.get(0)[0]).longValue(), Integer.MAX_VALUE),
+                (int) Math.min(((Number) counts.get(0)[1]).longValue(), Integer.MAX_VALUE));
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<QuestionResponseDTO> getAllQuestions() {
         List<Question> questions = questionRepository.findAll();
-        return questions.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return questionMapper.toResponseDTOs(questions);
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public Page<QuestionResponseDTO> getAllQuestions(Pageable pageable, String sortBy) {
-        return null;
+    public List<QuestionSummaryDTO> getAllQuestions(Pageable pageable, String sortBy) {
+        return questionMapper.toSummaries(questionRankingService.findPageIds(QuestionSort.fromParam(sortBy), pageable));
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public Page<QuestionResponseDTO> getAllQuestions(Pageable pageable) {
-        Page<Question> questions;
-        questions = questionRepository.findAll(pageable);
-        return questions.map(this::convertToResponseDTO);
+    public List<QuestionSummaryDTO> getAllQuestions(Pageable pageable) {
+        return questionMapper.toSummaries(questionRepository.findPageIds(pageable));
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public QuestionResponseDTO convertToResponseDTO(Question question) {
-        // Calculate vote score
-        int voteScore = 0;
-        List<Vote> votes = voteRepository.findByQuestion(question);
-        if (votes != null) {
-            voteScore = votes.stream()
-                    .mapToInt(v -> v.getVoteType() == Vote.VoteType.UPVOTE ? 1 : -1)
-                    .sum();
-        }
-
-        // Use a new, unconnected collection to avoid Hibernate proxies
-        Set<SimpleTagDTO> tagDTOs = new HashSet<>();
-
-        // Only try to access tags if the proxy is already initialized
-        // or safely retrieve it within the transaction
-        try {
-            if (org.hibernate.Hibernate.isInitialized(question.getTags())) {
-                question.getTags().forEach(tag ->
-                        tagDTOs.add(new SimpleTagDTO(tag.getName()))
-                );
-            } else {
-                // Create DTOs directly from database without collection copy
-                // This approach avoids the ConcurrentModificationException
-                tagService.getTagsByQuestionId(question.getId())
-                        .forEach(tagName -> tagDTOs.add(new SimpleTagDTO(tagName)));
-            }
-        } catch (Exception e) {
-            // Fall back to empty set if there's any problem
-            System.out.println("Error processing tags for question ID " + question.getId() + ": " + e.getMessage());
+    public CursorPageDTO<QuestionSummaryDTO> scrollQuestions(QuestionSort sort, String after, int limit) {
+        if (sort != QuestionSort.NEWEST && sort != QuestionSort.VOTES && sort != QuestionSort.ACTIVE) {
+            throw new IllegalArgumentException("Cursor pagination is not available for sort " + sort.getParam());
         }
-        UserDto userDto = null;
-        if (question.getUser() != null) {
-            userDto = userMapper.toUserDto(question.getUser());  // Call your mapping method here
+        int size = Math.max(1, Math.min(limit, MAX_SCROLL_LIMIT));
+        // Une ligne de plus pour savoir s'il reste une page, sans COUNT
+        int fetch = size + 1;
+        List<Long> ids;
+        if (after == null || after.isBlank()) {
+            ids = questionRepository.findPageIds(PageRequest.of(0, fetch, sort.getSort()));
+        } else {
+            QuestionCursor cursor = QuestionCursor.decode(after, sort);
+            ids = switch (sort) {
+                case NEWEST -> questionRepository.findNewestAfter(cursor.timestamp(), cursor.id(), fetch);
+                case VOTES -> questionRepository.findTopVotedAfter((int) cursor.key(), cursor.id(), fetch);
+                case ACTIVE -> questionRepository.findRecentlyUpdatedAfter(cursor.timestamp(), cursor.id(), fetch);
+                default -> throw new IllegalStateException("Unsupported cursor sort " + sort);
+            };
         }
-        return new QuestionResponseDTO(
-                question.getId(),
-                question.getTitle(),
-                question.getContent(),
-                question.getPlainTextContent(),
-                question.getCreatedAt(),
-                question.getUpdatedAt(),
-                userDto,
-                0, // viewCount
-                question.getVoteScore(),
-                question.getAnswers().size(),
-                tagDTOs
-        );
+
+        boolean hasMore = ids.size() > size;
+        List<QuestionSummaryDTO> questions = questionMapper.toSummaries(hasMore ? ids.subList(0, size) : ids);
+        String nextCursor = hasMore && !questions.isEmpty()
+                ? QuestionCursor.after(sort, questions.get(questions.size() - 1)).encode()
+                : null;
+        return new CursorPageDTO<>(questions, nextCursor);
+    }
+
+    @Override
+    public QuestionResponseDTO convertToResponseDTO(Question question) {
+        return questionMapper.toResponseDTO(question);
     }
     @Transactional(readOnly = true)
     @Override
-    public List<QuestionResponseDTO> searchQuestions(String query, String tag, int page, int size) {
-        List<Question> questions;
+    public List<QuestionSummaryDTO> searchQuestions(String query, String tag, int page, int size) {
+        List<Long> ids;
 
         // Apply filters for query and/or tag with pagination
-        if (query != null && tag != null) {
-            questions = questionRepository.searchByTitleOrContentAndTag(query, tag, PageRequest.of(page, size));
-        } else if (query != null) {
-            questions = questionRepository.searchQuestionsByTitleOrContent(query, PageRequest.of(page, size));
+        if (query != null) {
+            ids = questionSearchEngine.search(query, tag, page, size);
         } else if (tag != null) {
-            questions = questionRepository.findByTags_Name(tag, PageRequest.of(page, size));
+            ids = questionRepository.findPageIdsByTagName(tag, PageRequest.of(page, size, QuestionSort.NEWEST.getSort()));
         } else {
-            questions = Collections.emptyList();
+            ids = Collections.emptyList();
         }
 
-        // Convert to DTOs
-        return questions.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return questionMapper.toSummaries(ids);
     }
 
     // Add this method if you plan to implement question updates
@@ -175,17 +170,28 @@ public class QuestionServiceImpl implements QuestionService {
 
         question.setTitle(request.title());
         question.setContent(request.content());
+        contentDerivationService.applyTo(question);
 
         if (request.tagNames() != null && !request.tagNames().isEmpty()) {
             Set<Tag> tags = tagService.getOrCreateTags(request.tagNames());
+            // Les anciens tags perdent une question, les nouveaux en gagnent une
+            invalidateTags(question.getTags());
+            invalidateTags(tags);
             question.setTags(new HashSet<>(tags));
         }
 
         Question updatedQuestion = questionRepository.save(question);
+        eventPublisher.publishEvent(new QuestionChangedEvent(questionId, QuestionChangedEvent.ChangeType.UPDATED));
 
         // Send notifications about question update
         notificationService.notifyQuestionUpdate(updatedQuestion);
 
         return convertToResponseDTO(updatedQuestion);
     }
-}
\ No newline at end of file
+
+    private void invalidateTags(Collection<Tag> tags) {
+        for (Tag tag : tags) {
+            invalidationBus.publish(InvalidationKey.tag(tag.getName()));
+        }
+    }
+}
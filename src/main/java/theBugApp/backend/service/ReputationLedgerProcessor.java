@@ -0,0 +1,343 @@
+package theBugApp.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import theBugApp.backend.enums.ReputationAction;
+import theBugApp.backend.service.cache.InvalidationBus;
+import theBugApp.backend.service.cache.InvalidationKey;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Applies the reputation effects queued in {@code reputation_outbox} by
+ * {@link ReputationServiceImpl}. Each batch is claimed with {@code SKIP LOCKED},
+ * so several nodes can drain the outbox side by side, and grouped per user:
+ * however many +10/-2 events a popular author received, the batch costs one
+ * {@code users} update and one multi-row {@code reputation_history} insert.
+ * Events are replayed in id order with the same rules as the old synchronous
+ * path (daily limit on gains, reputation never below 1). A batch only claims
+ * the events of users whose transaction-level advisory lock it obtained, so
+ * while one node holds a user's events no other node can claim that user's
+ * later ones: each user's events are applied in id order across the cluster,
+ * not just within a batch. Today's totals come from
+ * {@link DailyReputationAccumulator} whenever its entry is still current.
+ * The outbox is split into stripes by {@code user_id}, each drained by its own
+ * single thread: one user's updates are serialized while different users
+ * proceed in parallel, and reputation moves through an atomic
+ * {@code GREATEST(floor, reputation + delta)} rather than a read-modify-write.
+ */
+@Service
+public class ReputationLedgerProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReputationLedgerProcessor.class);
+
+    // Première clé des verrous consultatifs par utilisateur (la seconde est hashint8(user_id), une collision ne fait que retarder)
+    private static final int USER_LOCK_CLASS = 0x52455055; // "REPU"
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InvalidationBus invalidationBus;
+    private final DailyReputationAccumulator dailyReputationAccumulator;
+    private final int batchSize;
+    // Une file mono-thread par bande : les mises à jour d'un même utilisateur ne se croisent jamais sur ce nœud
+    private final ExecutorService[] stripes;
+
+    public ReputationLedgerProcessor(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     InvalidationBus invalidationBus,
+                                     DailyReputationAccumulator dailyReputationAccumulator,
+                                     @Value("${app.reputation.ledger-batch-size:500}") int batchSize,
+                                     @Value("${app.reputation.ledger-stripes:4}") int stripeCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.invalidationBus = invalidationBus;
+        this.dailyReputationAccumulator = dailyReputationAccumulator;
+        this.batchSize = batchSize;
+        this.stripes = new ExecutorService[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            String name = "reputation-ledger-" + i;
+            stripes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    record LedgerEvent(long id, long userId, ReputationAction action, int points, Long questionId,
+                       Long answerId, Long voteId, String description, LocalDateTime createdAt) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.reputation.ledger-interval-ms:1000}")
+    public void drain() {
+        List<Future<?>> running = new ArrayList<>(stripes.length);
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            int current = stripe;
+            running.add(stripes[stripe].submit(() -> drainStripe(current)));
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.warn("Reputation ledger stripe failed", e.getCause());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    private void drainStripe(int stripe) {
+        try {
+            Integer applied;
+            do {
+                applied = transactionTemplate.execute(status -> applyBatch(stripe));
+            } while (applied != null && applied == batchSize);
+        } catch (RuntimeException e) {
+            // Les événements de la transaction annulée restent dans l'outbox
+            logger.warn("Could not apply reputation events of stripe {}, retrying on next run", stripe, e);
+        }
+    }
+
+    /**
+     * Returns the number of outbox events consumed; a stripe only sees the users
+     * with {@code user_id % stripes = stripe}. The users at the head of the stripe
+     * are locked first with a transaction-level advisory lock, skipping those held
+     * by another node's batch, and only then are their events claimed: a user's
+     * later events can never be claimed while earlier ones are still being applied.
+     */
+    int applyBatch(int stripe) {
+        // Le filtre volatil n'est pas poussé dans la sous-requête : un essai de verrou par utilisateur distinct
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT user_id FROM (SELECT DISTINCT user_id FROM (" +
+                        "SELECT user_id FROM reputation_outbox WHERE user_id % ? = ? ORDER BY id LIMIT ?) head) candidates " +
+                        "WHERE pg_try_advisory_xact_lock(?, hashint8(user_id))",
+                Long.class, stripes.length, stripe, batchSize, USER_LOCK_CLASS);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(userIds);
+        args.add(batchSize);
+        List<LedgerEvent> events = new ArrayList<>(jdbcTemplate.query(
+                "DELETE FROM reputation_outbox WHERE id IN (" +
+                        "SELECT id FROM reputation_outbox WHERE user_id IN (" + placeholders(userIds.size()) + ") " +
+                        "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                        "RETURNING id, user_id, action, points, question_id, answer_id, vote_id, description, created_at",
+                (rs, i) -> new LedgerEvent(
+                        rs.getLong("id"),
+                        rs.getLong("user_id"),
+                        ReputationAction.valueOf(rs.getString("action")),
+                        rs.getInt("points"),
+                        rs.getObject("question_id", Long.class),
+                        rs.getObject("answer_id", Long.class),
+                        rs.getObject("vote_id", Long.class),
+                        rs.getString("description"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                args.toArray()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        events.sort(Comparator.comparingLong(LedgerEvent::id));
+
+        Map<Long, List<LedgerEvent>> eventsByUser = new TreeMap<>();
+        for (LedgerEvent event : events) {
+            eventsByUser.computeIfAbsent(event.userId(), k -> new ArrayList<>()).add(event);
+        }
+
+        // Verrous pris dans l'ordre des ids (TreeMap) : deux lots concurrents ne s'interbloquent pas.
+        // Ils ne protègent plus la réputation (mise à jour atomique) mais le total journalier, d'un nœud à l'autre
+        Map<Long, LockedUser> users = lockUsers(eventsByUser.keySet());
+        Map<LocalDate, Map<Long, Integer>> earnedByDay = loadDailyTotals(users, events);
+
+        List<LedgerEvent> applied = new ArrayList<>();
+        Map<Long, ReputationDelta> deltas = new TreeMap<>();
+        eventsByUser.forEach((userId, userEvents) -> {
+            LockedUser user = users.get(userId);
+            if (user == null) {
+                logger.warn("Dropping {} reputation events for missing user {}", userEvents.size(), userId);
+                return;
+            }
+            ReputationDelta delta = ReputationDelta.NONE;
+            boolean written = false;
+            for (LedgerEvent event : userEvents) {
+                Map<Long, Integer> earned = earnedByDay.get(event.createdAt().toLocalDate());
+                // Check daily limit for positive reputation gains
+                if (event.points() > 0
+                        && Math.max(0, earned.getOrDefault(userId, 0)) >= ReputationServiceImpl.DAILY_REPUTATION_LIMIT) {
+                    continue;
+                }
+                earned.merge(userId, event.points(), Integer::sum);
+                delta = delta.then(event.points());
+                applied.add(event);
+                written = true;
+            }
+            // Toute écriture d'historique incrémente reputation_seq, y compris à réputation inchangée
+            if (written) {
+                deltas.put(userId, delta);
+            }
+        });
+
+        insertHistory(applied);
+        updateReputations(deltas);
+        // Publié avant l'enregistrement des totaux : après le commit, l'invalidation locale passe en premier
+        deltas.keySet().forEach(userId -> invalidationBus.publish(InvalidationKey.user(userId)));
+        recordDailyTotals(users, deltas.keySet(), earnedByDay.get(LocalDate.now()));
+        return events.size();
+    }
+
+    private record LockedUser(long seq) {
+    }
+
+    /**
+     * The composition of the per-event rule {@code r -> max(1, r + points)}: replaying
+     * any sequence of events gives {@code r -> max(floor, r + delta)}, so a whole
+     * batch applies as one atomic {@code GREATEST(floor, reputation + delta)} without
+     * reading the current reputation.
+     */
+    record ReputationDelta(int delta, int floor) {
+        static final ReputationDelta NONE = new ReputationDelta(0, Integer.MIN_VALUE);
+
+        ReputationDelta then(int points) {
+            // max(1, max(floor, r + delta) + points) = max(max(1, floor + points), r + delta + points)
+            int shiftedFloor = floor == Integer.MIN_VALUE ? Integer.MIN_VALUE : floor + points;
+            return new ReputationDelta(delta + points, Math.max(1, shiftedFloor)); // Minimum reputation is 1
+        }
+
+        int applyTo(int reputation) {
+            return Math.max(floor, reputation + delta);
+        }
+    }
+
+    private Map<Long, LockedUser> lockUsers(Set<Long> userIds) {
+        Map<Long, LockedUser> users = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, reputation_seq FROM users " +
+                        "WHERE user_id IN (" + placeholders(userIds.size()) + ") ORDER BY user_id FOR UPDATE",
+                rs -> {
+                    users.put(rs.getLong("user_id"), new LockedUser(rs.getLong("reputation_seq")));
+                }, userIds.toArray());
+        return users;
+    }
+
+    // Points déjà gagnés par chaque utilisateur le jour de l'événement. Pour aujourd'hui, l'accumulateur
+    // répond tant que le reputation_seq verrouillé est celui de son entrée ; seuls les autres sont relus
+    private Map<LocalDate, Map<Long, Integer>> loadDailyTotals(Map<Long, LockedUser> users, List<LedgerEvent> events) {
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Map<Long, Integer>> earnedByDay = new HashMap<>();
+        for (LedgerEvent event : events) {
+            earnedByDay.computeIfAbsent(event.createdAt().toLocalDate(), day -> {
+                Map<Long, Integer> earned = new HashMap<>();
+                Set<Long> missing = new HashSet<>();
+                users.forEach((userId, user) -> {
+                    Integer cached = day.equals(today) ? dailyReputationAccumulator.earnedToday(userId, user.seq()) : null;
+                    if (cached != null) {
+                        earned.put(userId, cached);
+                    } else {
+                        missing.add(userId);
+                    }
+                });
+                if (missing.isEmpty()) {
+                    return earned;
+                }
+                List<Object> args = new ArrayList<>(missing);
+                args.add(Timestamp.valueOf(day.atStartOfDay()));
+                args.add(Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+                jdbcTemplate.query("SELECT user_id, SUM(points) AS total FROM reputation_history " +
+                                "WHERE user_id IN (" + placeholders(missing.size()) + ") AND created_at >= ? AND created_at < ? " +
+                                "GROUP BY user_id",
+                        rs -> {
+                            earned.put(rs.getLong("user_id"), rs.getInt("total"));
+                        }, args.toArray());
+                return earned;
+            });
+        }
+        return earnedByDay;
+    }
+
+    // Après commit seulement : un lot annulé ne laisse pas de total qu'aucune ligne ne reflète
+    private void recordDailyTotals(Map<Long, LockedUser> users, Set<Long> written, Map<Long, Integer> earnedToday) {
+        if (earnedToday == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Runnable record = () -> users.forEach((userId, user) -> dailyReputationAccumulator.record(
+                userId, today, earnedToday.getOrDefault(userId, 0),
+                written.contains(userId) ? user.seq() + 1 : user.seq()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
+        }
+    }
+
+    private void insertHistory(List<LedgerEvent> applied) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(applied.size() * 8);
+        for (LedgerEvent event : applied) {
+            args.add(event.userId());
+            args.add(event.action().name());
+            args.add(event.points());
+            args.add(Timestamp.valueOf(event.createdAt()));
+            args.add(event.questionId());
+            args.add(event.answerId());
+            args.add(event.voteId());
+            args.add(event.description());
+        }
+        jdbcTemplate.update("INSERT INTO reputation_history " +
+                        "(user_id, action, points, created_at, question_id, answer_id, vote_id, description) VALUES " +
+                        String.join(", ", Collections.nCopies(applied.size(), "(?, ?, ?, ?, ?::bigint, ?::bigint, ?::bigint, ?)")),
+                args.toArray());
+    }
+
+    // Mise à jour atomique : jamais de lecture-modification-écriture de la réputation, donc ni verrou
+    // optimiste ni conflit avec une sauvegarde JPA de l'utilisateur (la colonne n'est pas updatable)
+    private void updateReputations(Map<Long, ReputationDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(deltas.size() * 3);
+        deltas.forEach((userId, delta) -> {
+            args.add(userId);
+            args.add(delta.delta());
+            args.add(delta.floor());
+        });
+        jdbcTemplate.update("UPDATE users u SET reputation = GREATEST(v.floor, u.reputation + v.delta), " +
+                        "reputation_seq = u.reputation_seq + 1 FROM (VALUES " +
+                        String.join(", ", Collections.nCopies(deltas.size(), "(?::bigint, ?::int, ?::int)")) +
+                        ") AS v(user_id, delta, floor) WHERE u.user_id = v.user_id",
+                args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
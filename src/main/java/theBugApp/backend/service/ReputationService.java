@@ -23,6 +23,9 @@ public interface ReputationService {
     // Reputation thresholds for privileges
     boolean canUpvote(Long userId); // 15 rep
     boolean canDownvote(Long userId); // 125 rep
+    // Variantes quand la réputation est déjà chargée
+    boolean canUpvote(int reputation);
+    boolean canDownvote(int reputation);
     boolean canComment(Long userId); // 50 rep
     boolean canCreateTags(Long userId); // 1500 rep
     boolean canEdit(Long userId); // 2000 rep
@@ -5,10 +5,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import theBugApp.backend.dto.ReputationHistoryDTO;
 import theBugApp.backend.entity.ReputationHistory;
-import theBugApp.backend.entity.User;
+import theBugApp.backend.entity.ReputationOutboxEvent;
+import theBugApp.backend.enums.PrivilegeTier;
 import theBugApp.backend.enums.ReputationAction;
 import theBugApp.backend.exception.UserNotFoundException;
 import theBugApp.backend.repository.ReputationHistoryRepository;
+import theBugApp.backend.repository.ReputationOutboxRepository;
 import theBugApp.backend.repository.UserRepository;
 
 import java.time.LocalDate;
@@ -23,48 +25,25 @@ public class ReputationServiceImpl implements ReputationService {
 
     private final ReputationHistoryRepository reputationHistoryRepository;
     private final UserRepository userRepository;
+    private final ReputationOutboxRepository reputationOutboxRepository;
+    private final DailyReputationAccumulator dailyReputationAccumulator;
+    private final PrivilegeResolver privilegeResolver;
 
-    private static final int DAILY_REPUTATION_LIMIT = 200;
-    private static final int MIN_REPUTATION_TO_UPVOTE = 15;
-    private static final int MIN_REPUTATION_TO_DOWNVOTE = 125;
-    private static final int MIN_REPUTATION_TO_COMMENT = 50;
-    private static final int MIN_REPUTATION_TO_CREATE_TAGS = 1500;
-    private static final int MIN_REPUTATION_TO_EDIT = 2000;
-    private static final int MIN_REPUTATION_TO_DELETE = 10000;
+    static final int DAILY_REPUTATION_LIMIT = 200;
 
+    // Les effets sont écrits dans reputation_outbox, dans la transaction de l'appelant ;
+    // ReputationLedgerProcessor les applique par lots (plafond journalier compris)
     @Override
     public void awardReputation(Long userId, ReputationAction action, Long questionId, Long answerId, Long voteId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-
         int points = action.getPoints();
 
-        // Check daily limit for positive reputation gains
-        if (points > 0 && hasReachedDailyLimit(userId)) {
-            return; // Don't award reputation if daily limit reached
-        }
-
         // Special handling for downvote penalties (different user)
         if (action == ReputationAction.DOWNVOTE_GIVEN) {
             // This affects the user who gave the downvote, not the receiver
             points = -1;
         }
 
-        // Create reputation history record
-        ReputationHistory history = new ReputationHistory();
-        history.setUser(user);
-        history.setAction(action);
-        history.setPoints(points);
-        history.setQuestionId(questionId);
-        history.setAnswerId(answerId);
-        history.setVoteId(voteId);
-        history.setDescription(action.getDescription());
-
-        reputationHistoryRepository.save(history);
-
-        // Update user's total reputation
-        user.setReputation(Math.max(1, user.getReputation() + points)); // Minimum reputation is 1
-        userRepository.save(user);
+        enqueue(userId, action, points, action.getDescription(), questionId, answerId, voteId);
     }
     @Override
     public void awardReputation(Long userId, ReputationAction action) {
@@ -73,34 +52,28 @@ public class ReputationServiceImpl implements ReputationService {
 
     @Override
     public void awardCustomReputation(Long userId, int points, String description, Long questionId, Long answerId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-
-        // Check daily limit for positive reputation gains
-        if (points > 0 && hasReachedDailyLimit(userId)) {
-            return;
-        }
-
-        ReputationHistory history = new ReputationHistory();
-        history.setUser(user);
-        history.setAction(ReputationAction.BOUNTY_AWARDED); // Use generic action for custom points
-        history.setPoints(points);
-        history.setQuestionId(questionId);
-        history.setAnswerId(answerId);
-        history.setDescription(description);
-
-        reputationHistoryRepository.save(history);
+        // Use generic action for custom points
+        enqueue(userId, ReputationAction.BOUNTY_AWARDED, points, description, questionId, answerId, null);
+    }
 
-        user.setReputation(Math.max(1, user.getReputation() + points));
-        userRepository.save(user);
+    private void enqueue(Long userId, ReputationAction action, int points, String description,
+                         Long questionId, Long answerId, Long voteId) {
+        ReputationOutboxEvent event = new ReputationOutboxEvent();
+        event.setUserId(userId);
+        event.setAction(action);
+        event.setPoints(points);
+        event.setDescription(description);
+        event.setQuestionId(questionId);
+        event.setAnswerId(answerId);
+        event.setVoteId(voteId);
+        reputationOutboxRepository.save(event);
     }
 
     @Override
     @Transactional(readOnly = true)
     public int getUserReputation(Long userId) {
-        User user = userRepository.findById(userId)
+        return userRepository.findReputationById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-        return user.getReputation();
     }
 
     @Override
@@ -134,54 +107,65 @@ public class ReputationServiceImpl implements ReputationService {
     @Override
     @Transactional(readOnly = true)
     public int getDailyReputationEarned(Long userId) {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().plusDays(1).atStartOfDay();
-
-        Integer totalPoints = reputationHistoryRepository.getTotalPointsForUserInPeriod(userId, startOfDay, endOfDay);
-        return Math.max(0, totalPoints != null ? totalPoints : 0); // Only count positive gains toward limit
+        Integer earned = dailyReputationAccumulator.earnedToday(userId);
+        if (earned == null) {
+            // Amorçage : une seule requête, puis servi depuis la mémoire jusqu'à minuit
+            LocalDate today = LocalDate.now();
+            List<Object[]> rows = reputationHistoryRepository.findSeqAndTotalPointsInPeriod(
+                    userId, today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            earned = ((Number) rows.get(0)[1]).intValue();
+            dailyReputationAccumulator.record(userId, today, earned, ((Number) rows.get(0)[0]).longValue());
+        }
+        return Math.max(0, earned); // Only count positive gains toward limit
     }
 
-    // Privilege checking methods
+    // Privilege checking methods : un seul chargement de la réputation, mis en cache (PrivilegeResolver)
     @Override
-    @Transactional(readOnly = true)
     public boolean canUpvote(Long userId) {
-        return getUserReputation(userId) >= MIN_REPUTATION_TO_UPVOTE;
+        return privilegeResolver.has(userId, PrivilegeTier.UPVOTE);
+    }
+
+    @Override
+    public boolean canUpvote(int reputation) {
+        return PrivilegeTier.UPVOTE.isGrantedAt(reputation);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean canDownvote(Long userId) {
-        return getUserReputation(userId) >= MIN_REPUTATION_TO_DOWNVOTE;
+        return privilegeResolver.has(userId, PrivilegeTier.DOWNVOTE);
+    }
+
+    @Override
+    public boolean canDownvote(int reputation) {
+        return PrivilegeTier.DOWNVOTE.isGrantedAt(reputation);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean canComment(Long userId) {
-        return getUserReputation(userId) >= MIN_REPUTATION_TO_COMMENT;
+        return privilegeResolver.has(userId, PrivilegeTier.COMMENT);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean canCreateTags(Long userId) {
-        return getUserReputation(userId) >= MIN_REPUTATION_TO_CREATE_TAGS;
+        return privilegeResolver.has(userId, PrivilegeTier.CREATE_TAGS);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean canEdit(Long userId) {
-        return getUserReputation(userId) >= MIN_REPUTATION_TO_EDIT;
+        return privilegeResolver.has(userId, PrivilegeTier.EDIT);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean canDelete(Long userId) {
-        return getUserReputation(userId) >= MIN_REPUTATION_TO_DELETE;
+        return privilegeResolver.has(userId, PrivilegeTier.DELETE);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean canModerate(Long userId) {
-        return getUserReputation(userId) >= MIN_REPUTATION_TO_DELETE;
+        return privilegeResolver.has(userId, PrivilegeTier.MODERATE);
     }
 
     private ReputationHistoryDTO convertToDTO(ReputationHistory history) {
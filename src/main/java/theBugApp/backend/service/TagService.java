@@ -5,12 +5,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import theBugApp.backend.dto.*;
-import theBugApp.backend.entity.Question;
 import theBugApp.backend.entity.Tag;
-import theBugApp.backend.entity.Vote;
+import theBugApp.backend.enums.QuestionSort;
 import theBugApp.backend.exception.TagNotFoundException;
+import theBugApp.backend.mappers.QuestionMapper;
 import theBugApp.backend.mappers.UserMapper;
 import theBugApp.backend.repository.*;
+import theBugApp.backend.service.cache.TagCache;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,16 +25,18 @@ public class TagService {
     private final AnswerService answerService;
     private final FollowTagRepository followTagRepository;
     private final UserMapper userMapper;
-    private final VoteRepository voteRepository;
+    private final QuestionMapper questionMapper;
+    private final TagCache tagCache;
 
-    public TagService(TagRepository tagRepository, QuestionRepository questionRepository, AnswerRepository answerRepository, AnswerService answerService, FollowTagRepository followTagRepository, UserMapper userMapper, VoteRepository voteRepository) {
+    public TagService(TagRepository tagRepository, QuestionRepository questionRepository, AnswerRepository answerRepository, AnswerService answerService, FollowTagRepository followTagRepository, UserMapper userMapper, QuestionMapper questionMapper, TagCache tagCache) {
         this.tagRepository = tagRepository;
         this.questionRepository = questionRepository;
         this.answerRepository=answerRepository;
         this.answerService=answerService;
         this.followTagRepository = followTagRepository;
         this.userMapper = userMapper;
-        this.voteRepository = voteRepository;
+        this.questionMapper = questionMapper;
+        this.tagCache = tagCache;
     }
 
     @Transactional
@@ -115,11 +118,10 @@ public class TagService {
 
 
 
-    public List<QuestionResponseDTO> getQuestionsByTagName(String tagName) {
+    public List<QuestionSummaryDTO> getQuestionsByTagName(String tagName) {
         return tagRepository.findByName(tagName.toLowerCase().trim())
-                .map(tag -> questionRepository.findByTagName(tagName).stream()
-                        .map(this::convertQuestionToDTO)
-                        .collect(Collectors.toList()))
+                .map(tag -> questionMapper.toSummaries(
+                        questionRepository.findIdsByTagName(tag.getName(), QuestionSort.NEWEST.getSort())))
                 .orElse(Collections.emptyList());
     }
 
@@ -140,40 +142,12 @@ public class TagService {
         return tagsMap;
     }
 
-    QuestionResponseDTO convertQuestionToDTO(Question question) {
-        int voteScore = 0;
-        List<Vote> votes = voteRepository.findByQuestion(question);
-        if (votes != null) {
-            voteScore = votes.stream()
-                    .mapToInt(v -> v.getVoteType() == Vote.VoteType.UPVOTE ? 1 : -1)
-                    .sum();
-        }
-        Set<String> tagNames = getTagsByQuestionId(question.getId());
-        Set<SimpleTagDTO> tagDTOs = tagNames.stream()
-                .map(SimpleTagDTO::new)
-                .collect(Collectors.toSet());
-
-        UserDto userDto = null;
-        if (question.getUser() != null) {
-            userDto = userMapper.toUserDto(question.getUser());  // Call your mapping method here
-        }
-        return new QuestionResponseDTO(
-                question.getId(),
-                question.getTitle(),
-                question.getContent(),
-                question.getPlainTextContent(),
-                question.getCreatedAt(),
-                question.getUpdatedAt(),
-                userDto,
-                0, // viewCount
-                voteScore,
-                question.getAnswers().size(),
-                tagDTOs
-        );
+    public FullTagDTO getTagByName(String tagName) {
+        return tagCache.get(tagName, this::loadTagByName);
     }
 
-    public FullTagDTO getTagByName(String tagName) {
-        return tagRepository.findByName(tagName.toLowerCase().trim())
+    private FullTagDTO loadTagByName(String tagName) {
+        return tagRepository.findByName(tagName)
                 .map(tag -> {
                     List<UserDto> followersDtos = followTagRepository.findFollowersByTagId(tag.getId()).stream()
                             .map(userMapper::toUserDto)
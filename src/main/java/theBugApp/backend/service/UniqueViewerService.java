@@ -0,0 +1,128 @@
+package theBugApp.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the distinct readers of each question with {@link HyperLogLog} sketches.
+ * Readers are added to an in-memory sketch per question (2 KB however many views);
+ * on flush each sketch is merged into the one stored in {@code questions.viewer_sketch}
+ * under a row lock and {@code unique_viewers} is refreshed from the merged estimate.
+ * The growth is rolled up per author in the same transaction: everyone who wrote
+ * the question or one of its answers reached those readers, once per question,
+ * and their {@code reached_count} grows accordingly. The nightly
+ * {@link UserStatsService#reconcile()} recomputes the same sum from scratch.
+ */
+@Service
+public class UniqueViewerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueViewerService.class);
+
+    private static final int FLUSH_CHUNK_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    public UniqueViewerService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // viewerKey : "u:<sujet du JWT>" ou "ip:<adresse>" ; seul son hash est conservé.
+    // Ajout sous le verrou de l'entrée : un sketch retiré par flush() ne reçoit plus aucun lecteur
+    public void recordViewer(Long questionId, String viewerKey) {
+        pending.compute(questionId, (id, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog();
+            target.offer(viewerKey);
+            return target;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.unique-flush-interval-ms:30000}")
+    public synchronized void flush() {
+        List<Long> ids = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < ids.size(); from += FLUSH_CHUNK_SIZE) {
+            Map<Long, HyperLogLog> chunk = new TreeMap<>();
+            for (Long id : ids.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, ids.size()))) {
+                HyperLogLog sketch = pending.remove(id);
+                if (sketch != null) {
+                    chunk.put(id, sketch);
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> mergeChunk(chunk));
+            } catch (RuntimeException e) {
+                logger.warn("Could not merge {} viewer sketches, keeping them for the next flush", chunk.size(), e);
+                chunk.forEach((id, sketch) -> pending.merge(id, sketch, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                }));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private void mergeChunk(Map<Long, HyperLogLog> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Verrous pris dans l'ordre des ids (TreeMap) pour éviter les interblocages entre nœuds
+        String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+        List<Object[]> questionUpdates = new ArrayList<>();
+        Map<Long, Long> growthByQuestion = new HashMap<>();
+        Map<Long, Set<Long>> authorsByQuestion = new HashMap<>();
+        jdbcTemplate.query("SELECT id, user_id, viewer_sketch, unique_viewers FROM questions WHERE id IN (" + placeholders + ") " +
+                "ORDER BY id FOR UPDATE", rs -> {
+            long id = rs.getLong("id");
+            HyperLogLog stored = HyperLogLog.fromBytes(rs.getBytes("viewer_sketch"));
+            stored.merge(chunk.get(id));
+            long before = rs.getLong("unique_viewers");
+            long after = Math.max(before, stored.estimate());
+            questionUpdates.add(new Object[]{stored.toBytes(), after, id});
+
+            if (after > before) {
+                growthByQuestion.put(id, after - before);
+                long authorId = rs.getLong("user_id");
+                if (!rs.wasNull()) {
+                    authorsByQuestion.computeIfAbsent(id, k -> new HashSet<>()).add(authorId);
+                }
+            }
+        }, chunk.keySet().toArray());
+
+        jdbcTemplate.batchUpdate("UPDATE questions SET viewer_sketch = ?, unique_viewers = ? WHERE id = ?", questionUpdates);
+        if (growthByQuestion.isEmpty()) {
+            return;
+        }
+        addAnswerAuthors(growthByQuestion.keySet(), authorsByQuestion);
+
+        // Un auteur présent plusieurs fois sur la même page n'est compté qu'une fois (Set)
+        Map<Long, Long> reachByAuthor = new TreeMap<>();
+        authorsByQuestion.forEach((questionId, authors) -> authors.forEach(
+                authorId -> reachByAuthor.merge(authorId, growthByQuestion.get(questionId), Long::sum)));
+        List<Object[]> reachUpdates = new ArrayList<>();
+        reachByAuthor.forEach((authorId, delta) -> reachUpdates.add(new Object[]{delta, authorId}));
+        jdbcTemplate.batchUpdate("UPDATE users SET reached_count = LEAST(reached_count + ?, 2147483647) WHERE user_id = ?", reachUpdates);
+    }
+
+    private void addAnswerAuthors(Collection<Long> questionIds, Map<Long, Set<Long>> authorsByQuestion) {
+        String placeholders = String.join(", ", Collections.nCopies(questionIds.size(), "?"));
+        jdbcTemplate.query("SELECT DISTINCT question_id, user_id FROM answers WHERE user_id IS NOT NULL AND question_id IN (" + placeholders + ")",
+                rs -> {
+                    authorsByQuestion.computeIfAbsent(rs.getLong("question_id"), k -> new HashSet<>()).add(rs.getLong("user_id"));
+                }, questionIds.toArray());
+    }
+}
@@ -2,7 +2,7 @@ package theBugApp.backend.service;
 
 
 import org.springframework.transaction.annotation.Transactional;
-import theBugApp.backend.dto.QuestionResponseDTO;
+import theBugApp.backend.dto.QuestionSummaryDTO;
 import theBugApp.backend.dto.UpdateUserDto;
 import theBugApp.backend.dto.UserDto;
 import theBugApp.backend.entity.User;
@@ -25,7 +25,7 @@ public interface UserService {
     void sendEmail(String to, String subject, String htmlBody);
     UserDto getUserById(Long id) throws UserNotFoundException;
     UserDto getUserByEmail(String email) throws UserNotFoundException;
-    List<QuestionResponseDTO> getQuestionsByUserId(Long userId) throws UserNotFoundException;
+    List<QuestionSummaryDTO> getQuestionsByUserId(Long userId) throws UserNotFoundException;
 
     UserDto updateUser(Long userId, UpdateUserDto dto);
 }
\ No newline at end of file
@@ -9,19 +9,24 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import theBugApp.backend.dto.QuestionResponseDTO;
+import theBugApp.backend.dto.QuestionSummaryDTO;
 import theBugApp.backend.dto.UserDto;
 import theBugApp.backend.entity.InfoUser;
 import theBugApp.backend.entity.User;
 import theBugApp.backend.entity.UserConfirmationToken;
+import theBugApp.backend.enums.QuestionSort;
 import theBugApp.backend.exception.EmailNonValideException;
 import theBugApp.backend.exception.UserNotFoundException;
 import theBugApp.backend.exception.UsernameExistsException;
+import theBugApp.backend.mappers.QuestionMapper;
 import theBugApp.backend.mappers.UserMapper;
 import theBugApp.backend.repository.QuestionRepository;
 import theBugApp.backend.repository.UserConfirmationTokenRepo;
 import theBugApp.backend.repository.UserRepository;
 import theBugApp.backend.dto.UpdateUserDto;
+import theBugApp.backend.service.cache.InvalidationBus;
+import theBugApp.backend.service.cache.InvalidationKey;
+import theBugApp.backend.service.cache.UserProfileCache;
 
 
 import java.time.LocalDateTime;
@@ -46,8 +51,10 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final UserConfirmationTokenRepo confirmationTokenRepo;
     private final QuestionRepository questionRepository;
-    private final QuestionService questionService;
+    private final QuestionMapper questionMapper;
     private final UserRepository userRepository;
+    private final UserProfileCache userProfileCache;
+    private final InvalidationBus invalidationBus;
 
 
     @Override
@@ -187,9 +194,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto getUserById(Long id) throws UserNotFoundException {
-        User user = userRepo.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé pour cet id :: " + id));
-        return userMapper.toUserDto(user);
+        return userProfileCache.get(id, userId -> {
+            User user = userRepo.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé pour cet id :: " + userId));
+            return userMapper.toUserDto(user);
+        });
     }
 
     @Override
@@ -201,16 +210,14 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)  // This is the correct syntax
-    public List<QuestionResponseDTO> getQuestionsByUserId(Long userId) throws UserNotFoundException {
+    public List<QuestionSummaryDTO> getQuestionsByUserId(Long userId) throws UserNotFoundException {
         // First verify user exists
         if (!userRepo.existsById(userId)) {
             throw new UserNotFoundException("User not found with id: " + userId);
         }
 
         // Get questions and convert to DTOs
-        return questionRepository.findByUserId(userId).stream()
-                .map(questionService::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return questionMapper.toSummaries(questionRepository.findIdsByUserId(userId, QuestionSort.NEWEST.getSort()));
     }
     @Override
     public UserDto updateUser(Long userId, UpdateUserDto dto) {
@@ -230,6 +237,7 @@ public class UserServiceImpl implements UserService {
 
         if (dto.shouldUpdate("reputation")) {
             user.setReputation(dto.getReputation() != null ? dto.getReputation() : 0);
+            userRepo.setReputation(userId, user.getReputation());
         }
 
         if (dto.shouldUpdate("isConfirmed")) {
@@ -253,6 +261,7 @@ public class UserServiceImpl implements UserService {
 
         // Sauvegarder et retourner
         User savedUser = userRepo.save(user);
+        invalidationBus.publish(InvalidationKey.user(userId));
         return userMapper.toUserDto(savedUser);
     }
 
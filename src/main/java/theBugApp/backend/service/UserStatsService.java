@@ -0,0 +1,121 @@
+package theBugApp.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import theBugApp.backend.repository.UserRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Keeps the denormalized counters of {@link theBugApp.backend.entity.UserStats} up to date.
+ * Every method joins the caller's transaction, so a counter only moves if the
+ * follow, question, answer or vote write that caused it commits.
+ */
+@Service
+@Transactional
+public class UserStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsService.class);
+
+    private static final String RECONCILE_LOCK = "user-stats-reconcile";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileBatchSize;
+
+    public UserStatsService(UserRepository userRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.user-stats.reconcile-batch-size:1000}") int reconcileBatchSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    public void followChanged(Long followerId, Long followingId, int delta) {
+        userRepository.incrementFollowingCount(followerId, delta);
+        userRepository.incrementFollowersCount(followingId, delta);
+    }
+
+    public void questionCountChanged(Long userId, int delta) {
+        userRepository.incrementQuestionCount(userId, delta);
+    }
+
+    public void answerCountChanged(Long userId, int delta) {
+        userRepository.incrementAnswerCount(userId, delta);
+    }
+
+    public void voteCountChanged(Long userId, int delta) {
+        userRepository.incrementVoteCount(userId, delta);
+    }
+
+    /**
+     * Rebuilds every counter from the source tables and repairs any drift, in
+     * batches of user ids. Each batch locks its rows before counting, so an
+     * increment racing with the repair waits for it instead of being overwritten
+     * by a stale count. Only the node holding the advisory lock runs it.
+     */
+    @Scheduled(cron = "${app.user-stats.reconcile-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcile() {
+        Integer repaired = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+                lock.setString(1, RECONCILE_LOCK);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        return null;
+                    }
+                }
+            }
+            try {
+                return reconcileBatches();
+            } finally {
+                try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+                    unlock.setString(1, RECONCILE_LOCK);
+                    unlock.execute();
+                }
+            }
+        });
+        if (repaired == null) {
+            logger.info("User stats reconciliation already running on another node, skipping");
+        } else if (repaired > 0) {
+            logger.warn("User stats reconciliation repaired {} users", repaired);
+        } else {
+            logger.info("User stats reconciliation found no drift");
+        }
+    }
+
+    private int reconcileBatches() {
+        int repaired = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            // Une transaction par lot : les lignes ne restent verrouillées que le temps de leurs comptages
+            long[] batch = transactionTemplate.execute(status -> {
+                List<Long> userIds = userRepository.lockUserIdsAfter(from, reconcileBatchSize);
+                if (userIds.isEmpty()) {
+                    return null;
+                }
+                return new long[]{userIds.get(userIds.size() - 1), userRepository.reconcileStats(userIds)};
+            });
+            if (batch == null) {
+                return repaired;
+            }
+            afterId = batch[0];
+            repaired += (int) batch[1];
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package theBugApp.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts question views in memory and writes them in batches.
+ * A view is one atomic {@code merge} into the pending count of its question and
+ * the flush takes each count out with an atomic {@code remove}, so a view is
+ * either still pending or in the batch being written, never lost in between.
+ * Every few seconds the deltas are applied with a single
+ * {@code UPDATE ... FROM (VALUES ...)} per chunk, and the remaining counts are
+ * drained on shutdown. Displayed counts are approximate: they lag by the flush
+ * interval. Distinct readers are estimated separately by {@link UniqueViewerService}.
+ */
+@Service
+public class ViewCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCountService.class);
+
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UniqueViewerService uniqueViewerService;
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public ViewCountService(JdbcTemplate jdbcTemplate, UniqueViewerService uniqueViewerService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.uniqueViewerService = uniqueViewerService;
+    }
+
+    public void recordView(Long questionId, String viewerKey) {
+        pending.merge(questionId, 1L, Long::sum);
+        uniqueViewerService.recordViewer(questionId, viewerKey);
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<long[]> deltas = collectDeltas();
+        for (int from = 0; from < deltas.size(); from += FLUSH_CHUNK_SIZE) {
+            List<long[]> chunk = deltas.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, deltas.size()));
+            try {
+                writeChunk(chunk);
+            } catch (RuntimeException e) {
+                // Les vues non écrites seront retentées au prochain flush
+                logger.warn("Could not flush {} view counts, keeping them for the next flush", chunk.size(), e);
+                chunk.forEach(delta -> pending.merge(delta[0], delta[1], Long::sum));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private List<long[]> collectDeltas() {
+        List<long[]> deltas = new ArrayList<>();
+        for (Long questionId : pending.keySet()) {
+            // Retrait atomique : une vue enregistrée ensuite recrée l'entrée pour le prochain flush
+            Long count = pending.remove(questionId);
+            if (count != null && count > 0) {
+                deltas.add(new long[]{questionId, count});
+            }
+        }
+        return deltas;
+    }
+
+    private void writeChunk(List<long[]> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE questions q SET view_count = q.view_count + v.delta FROM (VALUES ");
+        Object[] args = new Object[chunk.size() * 2];
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "(CAST(? AS bigint), CAST(? AS bigint))" : ", (?, ?)");
+            args[2 * i] = chunk.get(i)[0];
+            args[2 * i + 1] = chunk.get(i)[1];
+        }
+        sql.append(") AS v(id, delta) WHERE q.id = v.id");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+}
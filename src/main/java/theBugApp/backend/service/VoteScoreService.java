@@ -0,0 +1,61 @@
+package theBugApp.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import theBugApp.backend.entity.Vote;
+import theBugApp.backend.repository.AnswerRepository;
+import theBugApp.backend.repository.QuestionRepository;
+
+/**
+ * Owns the stored vote_score of questions and answers. Votes apply a delta with a
+ * single atomic UPDATE in the vote transaction; the repair job recomputes the
+ * scores from the vote table and fixes any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VoteScoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteScoreService.class);
+
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+
+    public static int valueOf(Vote.VoteType voteType) {
+        if (voteType == null) {
+            return 0;
+        }
+        return voteType == Vote.VoteType.UPVOTE ? 1 : -1;
+    }
+
+    // Score change when a vote goes from oldType to newType (null meaning "no vote")
+    public static int delta(Vote.VoteType oldType, Vote.VoteType newType) {
+        return valueOf(newType) - valueOf(oldType);
+    }
+
+    public void questionScoreChanged(Long questionId, int delta) {
+        if (delta != 0) {
+            questionRepository.incrementVoteScore(questionId, delta);
+        }
+    }
+
+    public void answerScoreChanged(Long answerId, int delta) {
+        if (delta != 0) {
+            answerRepository.incrementVoteScore(answerId, delta);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.vote-score.repair-initial-delay-ms:60000}",
+            fixedDelayString = "${app.vote-score.repair-interval-ms:3600000}")
+    public void repairScores() {
+        int questions = questionRepository.repairVoteScores();
+        int answers = answerRepository.repairVoteScores();
+        if (questions + answers > 0) {
+            logger.warn("Vote score repair fixed {} questions and {} answers", questions, answers);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package theBugApp.backend.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import theBugApp.backend.dto.VoteInfoDto;
@@ -9,13 +10,9 @@ import theBugApp.backend.entity.*;
 import theBugApp.backend.enums.ReputationAction;
 import theBugApp.backend.exception.InsufficientReputationException;
 import theBugApp.backend.exception.NotFoundException;
-import theBugApp.backend.repository.AnswerRepository;
-import theBugApp.backend.repository.QuestionRepository;
-import theBugApp.backend.repository.UserRepository;
 import theBugApp.backend.repository.VoteRepository;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,183 +23,155 @@ public class VoteServiceImpl implements VoteService {
     private ReputationService reputationService;
 
     private final VoteRepository voteRepository;
-    private final UserRepository userRepository;
-    private final QuestionRepository questionRepository;
-    private final AnswerRepository answerRepository;
+    private final UserStatsService userStatsService;
+    private final VoteScoreService voteScoreService;
+    private final VoteWriter voteWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public int voteQuestion(Long questionId, String userEmail, Vote.VoteType voteType) {
-        User user = userRepository.findByInfoUser_Email(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new NotFoundException("Question not found"));
-
-        // Check if user has permission to vote
-        if (voteType == Vote.VoteType.UPVOTE && !reputationService.canUpvote(user.getUserId())) {
-            throw new InsufficientReputationException("You need at least 15 reputation to upvote");
+        // (votant, réputation du votant, auteur de la question) en une requête
+        Object[] context = single(voteRepository.findQuestionVoteContext(userEmail, questionId));
+        if (context == null) {
+            throw new NotFoundException("User not found");
         }
-        if (voteType == Vote.VoteType.DOWNVOTE && !reputationService.canDownvote(user.getUserId())) {
-            throw new InsufficientReputationException("You need at least 125 reputation to downvote");
+        if (context[2] == null) {
+            throw new NotFoundException("Question not found");
         }
+        Long voterId = ((Number) context[0]).longValue();
+        Long authorId = ((Number) context[2]).longValue();
+        checkCanVote(((Number) context[1]).intValue(), voteType);
 
         // Prevent users from voting on their own questions
-        if (question.getUser().getUserId().equals(user.getUserId())) {
+        if (authorId.equals(voterId)) {
             throw new IllegalArgumentException("You cannot vote on your own question");
         }
 
-        Optional<Vote> existingVote = voteRepository.findByUserAndQuestion(user, question);
-
-        if (existingVote.isPresent()) {
-            Vote vote = existingVote.get();
-            if (vote.getVoteType() == voteType) {
-                // Same vote type - remove the vote and reverse reputation
-                reverseQuestionVoteReputation(vote, question.getUser().getUserId(), user.getUserId());
-                voteRepository.delete(vote);
-                return 0;
-            } else {
-                // Different vote type - update the vote and adjust reputation
-                Vote.VoteType oldVoteType = vote.getVoteType();
-                vote.setVoteType(voteType);
-                voteRepository.save(vote);
-
-                // Reverse old reputation
-                reverseQuestionVoteReputation(vote, question.getUser().getUserId(), user.getUserId(), oldVoteType);
-                // Award new reputation
-                awardQuestionVoteReputation(vote, question.getUser().getUserId(), user.getUserId(), voteType);
-
-                return voteType == Vote.VoteType.UPVOTE ? 1 : -1;
-            }
-        } else {
-            // New vote
-            Vote newVote = new Vote();
-            newVote.setUser(user);
-            newVote.setQuestion(question);
-            newVote.setVoteType(voteType);
-            Vote savedVote = voteRepository.save(newVote);
+        VoteWriter.VoteChange change = voteWriter.toggleQuestionVote(voterId, questionId, voteType);
+        eventPublisher.publishEvent(new QuestionChangedEvent(questionId, QuestionChangedEvent.ChangeType.VOTED));
+        voteScoreService.questionScoreChanged(questionId, change.scoreDelta());
+        voteCountChanged(voterId, change);
 
-            // Award reputation
-            awardQuestionVoteReputation(savedVote, question.getUser().getUserId(), user.getUserId(), voteType);
-
-            return voteType == Vote.VoteType.UPVOTE ? 1 : -1;
+        if (change.oldType() != null) {
+            // Reverse old reputation
+            reverseQuestionVoteReputation(questionId, authorId, voterId, change.oldType());
+        }
+        if (change.newType() != null) {
+            // Award new reputation
+            awardQuestionVoteReputation(questionId, change.voteId(), authorId, voterId, change.newType());
         }
+        return VoteScoreService.valueOf(change.newType());
     }
 
     @Override
     @Transactional
     public int voteAnswer(Long answerId, String userEmail, Vote.VoteType voteType) {
-        User user = userRepository.findByInfoUser_Email(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        Answer answer = answerRepository.findById(answerId)
-                .orElseThrow(() -> new NotFoundException("Answer not found"));
-
-        // Check if user has permission to vote
-        if (voteType == Vote.VoteType.UPVOTE && !reputationService.canUpvote(user.getUserId())) {
-            throw new InsufficientReputationException("You need at least 15 reputation to upvote");
+        // (votant, réputation du votant, auteur de la réponse, question de la réponse) en une requête
+        Object[] context = single(voteRepository.findAnswerVoteContext(userEmail, answerId));
+        if (context == null) {
+            throw new NotFoundException("User not found");
         }
-        if (voteType == Vote.VoteType.DOWNVOTE && !reputationService.canDownvote(user.getUserId())) {
-            throw new InsufficientReputationException("You need at least 125 reputation to downvote");
+        if (context[2] == null) {
+            throw new NotFoundException("Answer not found");
         }
+        Long voterId = ((Number) context[0]).longValue();
+        Long authorId = ((Number) context[2]).longValue();
+        Long questionId = ((Number) context[3]).longValue();
+        checkCanVote(((Number) context[1]).intValue(), voteType);
 
         // Prevent users from voting on their own answers
-        if (answer.getUser().getUserId().equals(user.getUserId())) {
+        if (authorId.equals(voterId)) {
             throw new IllegalArgumentException("You cannot vote on your own answer");
         }
 
-        Optional<Vote> existingVote = voteRepository.findByUserAndAnswer(user, answer);
-
-        if (existingVote.isPresent()) {
-            Vote vote = existingVote.get();
-            if (vote.getVoteType() == voteType) {
-                // Same vote type - remove the vote and reverse reputation
-                reverseAnswerVoteReputation(vote, answer.getUser().getUserId(), user.getUserId());
-                voteRepository.delete(vote);
-                return 0;
-            } else {
-                // Different vote type - update the vote and adjust reputation
-                Vote.VoteType oldVoteType = vote.getVoteType();
-                vote.setVoteType(voteType);
-                voteRepository.save(vote);
-
-                // Reverse old reputation
-                reverseAnswerVoteReputation(vote, answer.getUser().getUserId(), user.getUserId(), oldVoteType);
-                // Award new reputation
-                awardAnswerVoteReputation(vote, answer.getUser().getUserId(), user.getUserId(), voteType);
-
-                return voteType == Vote.VoteType.UPVOTE ? 1 : -1;
-            }
-        } else {
-            // New vote
-            Vote newVote = new Vote();
-            newVote.setUser(user);
-            newVote.setAnswer(answer);
-            newVote.setVoteType(voteType);
-            Vote savedVote = voteRepository.save(newVote);
+        VoteWriter.VoteChange change = voteWriter.toggleAnswerVote(voterId, answerId, voteType);
+        eventPublisher.publishEvent(new QuestionChangedEvent(questionId, QuestionChangedEvent.ChangeType.VOTED));
+        voteScoreService.answerScoreChanged(answerId, change.scoreDelta());
+        voteCountChanged(voterId, change);
 
-            // Award reputation
-            awardAnswerVoteReputation(savedVote, answer.getUser().getUserId(), user.getUserId(), voteType);
+        if (change.oldType() != null) {
+            // Reverse old reputation
+            reverseAnswerVoteReputation(questionId, answerId, authorId, voterId, change.oldType());
+        }
+        if (change.newType() != null) {
+            // Award new reputation
+            awardAnswerVoteReputation(questionId, answerId, change.voteId(), authorId, voterId, change.newType());
+        }
+        return VoteScoreService.valueOf(change.newType());
+    }
 
-            return voteType == Vote.VoteType.UPVOTE ? 1 : -1;
+    // Même seuils que ReputationService.canUpvote / canDownvote, sans recharger l'utilisateur
+    private void checkCanVote(int reputation, Vote.VoteType voteType) {
+        if (voteType == Vote.VoteType.UPVOTE && !reputationService.canUpvote(reputation)) {
+            throw new InsufficientReputationException("You need at least 15 reputation to upvote");
+        }
+        if (voteType == Vote.VoteType.DOWNVOTE && !reputationService.canDownvote(reputation)) {
+            throw new InsufficientReputationException("You need at least 125 reputation to downvote");
+        }
+    }
+
+    private void voteCountChanged(Long voterId, VoteWriter.VoteChange change) {
+        if (change.oldType() == null) {
+            userStatsService.voteCountChanged(voterId, 1);
+        } else if (change.newType() == null) {
+            userStatsService.voteCountChanged(voterId, -1);
         }
     }
 
+    private static Object[] single(List<Object[]> rows) {
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
     // Helper methods for reputation management
-    private void awardQuestionVoteReputation(Vote vote, Long questionAuthorId, Long voterId, Vote.VoteType voteType) {
+    private void awardQuestionVoteReputation(Long questionId, Long voteId, Long questionAuthorId, Long voterId, Vote.VoteType voteType) {
         if (voteType == Vote.VoteType.UPVOTE) {
             // Award reputation to question author
             reputationService.awardReputation(questionAuthorId, ReputationAction.QUESTION_UPVOTE,
-                    vote.getQuestion().getId(), null, vote.getId());
+                    questionId, null, voteId);
         } else {
             // Downvote: penalize question author and voter
             reputationService.awardReputation(questionAuthorId, ReputationAction.QUESTION_DOWNVOTE,
-                    vote.getQuestion().getId(), null, vote.getId());
+                    questionId, null, voteId);
             reputationService.awardReputation(voterId, ReputationAction.DOWNVOTE_GIVEN);
         }
     }
 
-    private void awardAnswerVoteReputation(Vote vote, Long answerAuthorId, Long voterId, Vote.VoteType voteType) {
+    private void awardAnswerVoteReputation(Long questionId, Long answerId, Long voteId, Long answerAuthorId, Long voterId, Vote.VoteType voteType) {
         if (voteType == Vote.VoteType.UPVOTE) {
             // Award reputation to answer author
             reputationService.awardReputation(answerAuthorId, ReputationAction.ANSWER_UPVOTE,
-                    vote.getAnswer().getQuestion().getId(), vote.getAnswer().getId(), vote.getId());
+                    questionId, answerId, voteId);
         } else {
             // Downvote: penalize answer author and voter
             reputationService.awardReputation(answerAuthorId, ReputationAction.ANSWER_DOWNVOTE,
-                    vote.getAnswer().getQuestion().getId(), vote.getAnswer().getId(), vote.getId());
+                    questionId, answerId, voteId);
             reputationService.awardReputation(voterId, ReputationAction.DOWNVOTE_GIVEN);
         }
     }
 
-    private void reverseQuestionVoteReputation(Vote vote, Long questionAuthorId, Long voterId) {
-        reverseQuestionVoteReputation(vote, questionAuthorId, voterId, vote.getVoteType());
-    }
-
-    private void reverseQuestionVoteReputation(Vote vote, Long questionAuthorId, Long voterId, Vote.VoteType voteType) {
+    private void reverseQuestionVoteReputation(Long questionId, Long questionAuthorId, Long voterId, Vote.VoteType voteType) {
         if (voteType == Vote.VoteType.UPVOTE) {
             // Reverse upvote reputation (subtract points)
             reputationService.awardCustomReputation(questionAuthorId, -5, "Question upvote removed",
-                    vote.getQuestion().getId(), null);
+                    questionId, null);
         } else {
             // Reverse downvote reputation (add back points)
             reputationService.awardCustomReputation(questionAuthorId, 2, "Question downvote removed",
-                    vote.getQuestion().getId(), null);
+                    questionId, null);
             reputationService.awardCustomReputation(voterId, 1, "Downvote penalty removed", null, null);
         }
     }
 
-    private void reverseAnswerVoteReputation(Vote vote, Long answerAuthorId, Long voterId) {
-        reverseAnswerVoteReputation(vote, answerAuthorId, voterId, vote.getVoteType());
-    }
-
-    private void reverseAnswerVoteReputation(Vote vote, Long answerAuthorId, Long voterId, Vote.VoteType voteType) {
+    private void reverseAnswerVoteReputation(Long questionId, Long answerId, Long answerAuthorId, Long voterId, Vote.VoteType voteType) {
         if (voteType == Vote.VoteType.UPVOTE) {
             // Reverse upvote reputation (subtract points)
             reputationService.awardCustomReputation(answerAuthorId, -10, "Answer upvote removed",
-                    vote.getAnswer().getQuestion().getId(), vote.getAnswer().getId());
+                    questionId, answerId);
         } else {
             // Reverse downvote reputation (add back points)
             reputationService.awardCustomReputation(answerAuthorId, 2, "Answer downvote removed",
-                    vote.getAnswer().getQuestion().getId(), vote.getAnswer().getId());
+                    questionId, answerId);
             reputationService.awardCustomReputation(voterId, 1, "Downvote penalty removed", null, null);
         }
     }
@@ -0,0 +1,86 @@
+package theBugApp.backend.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import theBugApp.backend.entity.Vote;
+
+/**
+ * Writes a vote with one statement relying on the partial unique indexes
+ * {@code (user_id, question_id)} and {@code (user_id, answer_id)} of the vote table.
+ * The statement locks the existing vote if any, then removes it (same type clicked
+ * again), switches it (other type) or inserts a new one, and reports the type before
+ * and after. When two first votes of the same user race, the loser's insert hits the
+ * unique index: its no-op {@code DO UPDATE ... WHERE false} still locks the winner's row,
+ * so the replayed statement finds that row and nobody can delete it in between. Every
+ * call therefore observes the votes of a (user, post) in a serial order.
+ */
+@Component
+public class VoteWriter {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String TOGGLE_SQL =
+            "WITH existing AS (" +
+            "  SELECT id, vote_type FROM vote WHERE user_id = ? AND %1$s = ? FOR UPDATE" +
+            "), removed AS (" +
+            "  DELETE FROM vote v USING existing e WHERE v.id = e.id AND e.vote_type = ? RETURNING v.id" +
+            "), switched AS (" +
+            "  UPDATE vote v SET vote_type = ? FROM existing e WHERE v.id = e.id AND e.vote_type <> ? RETURNING v.id" +
+            "), inserted AS (" +
+            "  INSERT INTO vote (user_id, %1$s, vote_type) SELECT ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM existing) " +
+            "  ON CONFLICT (user_id, %1$s) WHERE %1$s IS NOT NULL DO UPDATE SET vote_type = vote.vote_type WHERE false " +
+            "  RETURNING id" +
+            ") SELECT (SELECT vote_type FROM existing) AS old_type, " +
+            "  COALESCE((SELECT id FROM switched), (SELECT id FROM inserted), (SELECT id FROM removed)) AS vote_id, " +
+            "  EXISTS (SELECT 1 FROM removed) AS was_removed";
+
+    private static final String QUESTION_SQL = TOGGLE_SQL.formatted("question_id");
+    private static final String ANSWER_SQL = TOGGLE_SQL.formatted("answer_id");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VoteWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Result of a vote click: {@code newType} is null when the click removed the vote,
+     * {@code oldType} is null when there was no vote before.
+     */
+    public record VoteChange(Vote.VoteType oldType, Vote.VoteType newType, Long voteId) {
+
+        public int scoreDelta() {
+            return VoteScoreService.delta(oldType, newType);
+        }
+    }
+
+    // Doit s'exécuter dans la transaction de l'appelant
+    public VoteChange toggleQuestionVote(Long userId, Long questionId, Vote.VoteType voteType) {
+        return toggle(QUESTION_SQL, userId, questionId, voteType);
+    }
+
+    public VoteChange toggleAnswerVote(Long userId, Long answerId, Vote.VoteType voteType) {
+        return toggle(ANSWER_SQL, userId, answerId, voteType);
+    }
+
+    private VoteChange toggle(String sql, Long userId, Long postId, Vote.VoteType voteType) {
+        String type = voteType.name();
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            VoteChange change = jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+                String oldType = rs.getString("old_type");
+                long voteId = rs.getLong("vote_id");
+                if (rs.wasNull()) {
+                    return null; // insertion perdue face à un vote concurrent : sa ligne est verrouillée, on rejoue
+                }
+                return new VoteChange(
+                        oldType != null ? Vote.VoteType.valueOf(oldType) : null,
+                        rs.getBoolean("was_removed") ? null : voteType,
+                        voteId);
+            }, userId, postId, type, type, type, userId, postId, type);
+            if (change != null) {
+                return change;
+            }
+        }
+        throw new IllegalStateException("Vote could not be recorded after " + MAX_ATTEMPTS + " attempts");
+    }
+}
@@ -0,0 +1,24 @@
+package theBugApp.backend.service.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node bus: invalidates the local caches only. Selected with
+ * {@code app.cache.invalidation=local} (tests, or a deployment with one instance).
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "local")
+public class InProcessInvalidationBus implements InvalidationBus {
+
+    private final LocalInvalidationDispatcher dispatcher;
+
+    public InProcessInvalidationBus(LocalInvalidationDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void publish(InvalidationKey key) {
+        dispatcher.dispatchAfterCommit(key);
+    }
+}
@@ -0,0 +1,12 @@
+package theBugApp.backend.service.cache;
+
+/**
+ * Broadcasts cache invalidations to every node of the cluster.
+ * A key published inside a transaction is only delivered if and after the
+ * transaction commits, so no node can reload the old row in between; outside
+ * a transaction it is delivered immediately.
+ */
+public interface InvalidationBus {
+
+    void publish(InvalidationKey key);
+}
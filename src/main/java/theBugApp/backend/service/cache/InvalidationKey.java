@@ -0,0 +1,56 @@
+package theBugApp.backend.service.cache;
+
+/**
+ * Identifies what a cache entry was built from: a question (details and answers),
+ * a user profile or a tag. Encoded as {@code "Q:42"}, {@code "U:7"} or {@code "T:java"}
+ * in NOTIFY payloads.
+ */
+public record InvalidationKey(Kind kind, String value) {
+
+    public enum Kind {
+        QUESTION('Q'), USER('U'), TAG('T');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+
+        static Kind fromCode(char code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation kind: " + code);
+        }
+    }
+
+    public static InvalidationKey question(Long questionId) {
+        return new InvalidationKey(Kind.QUESTION, String.valueOf(questionId));
+    }
+
+    public static InvalidationKey user(Long userId) {
+        return new InvalidationKey(Kind.USER, String.valueOf(userId));
+    }
+
+    // Les noms de tags sont comparés sans casse partout ailleurs
+    public static InvalidationKey tag(String tagName) {
+        return new InvalidationKey(Kind.TAG, tagName.toLowerCase());
+    }
+
+    public Long longValue() {
+        return Long.valueOf(value);
+    }
+
+    public String encode() {
+        return kind.code + ":" + value;
+    }
+
+    public static InvalidationKey decode(String encoded) {
+        if (encoded == null || encoded.length() < 3 || encoded.charAt(1) != ':') {
+            throw new IllegalArgumentException("Invalid invalidation key: " + encoded);
+        }
+        return new InvalidationKey(Kind.fromCode(encoded.charAt(0)), encoded.substring(2));
+    }
+}
@@ -0,0 +1,13 @@
+package theBugApp.backend.service.cache;
+
+/**
+ * Implemented by every local cache that must stay consistent across nodes.
+ * Called by the {@link InvalidationBus} once the write behind a key has committed.
+ */
+public interface InvalidationListener {
+
+    void invalidate(InvalidationKey key);
+
+    // Appelé quand des notifications ont pu être perdues (reconnexion LISTEN)
+    void invalidateAll();
+}
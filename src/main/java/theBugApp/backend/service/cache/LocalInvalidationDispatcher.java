@@ -0,0 +1,55 @@
+package theBugApp.backend.service.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Delivers invalidations to the caches of this node. Shared by the bus
+ * implementations so that local eviction behaves the same whatever the transport.
+ */
+@Component
+public class LocalInvalidationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalInvalidationDispatcher.class);
+
+    private final List<InvalidationListener> listeners;
+
+    public LocalInvalidationDispatcher(List<InvalidationListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    // Après le commit si une transaction est active, sinon tout de suite
+    public void dispatchAfterCommit(InvalidationKey key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(key);
+                }
+            });
+        } else {
+            dispatch(key);
+        }
+    }
+
+    public void dispatch(InvalidationKey key) {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.invalidate(key);
+            } catch (RuntimeException e) {
+                logger.warn("Cache listener {} failed to invalidate {}", listener.getClass().getSimpleName(), key, e);
+            }
+        }
+    }
+
+    public void dispatchAll() {
+        for (InvalidationListener listener : listeners) {
+            listener.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package theBugApp.backend.service.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Cluster-wide invalidation over PostgreSQL LISTEN/NOTIFY.
+ * Keys published inside a transaction are collected and deduplicated, then sent
+ * as one {@code pg_notify} from {@code beforeCommit}, still inside the writer's
+ * transaction: PostgreSQL only delivers it when that transaction commits, and
+ * drops it on rollback. A payload is {@code nodeId|key\nkey...}, split in several
+ * notifications if it would exceed the 8000 byte limit. Every node keeps one
+ * dedicated connection LISTENing on the channel and evicts the keys it receives;
+ * the publishing node evicts its own caches after commit and ignores its echo.
+ * If the listening connection is lost, notifications sent meanwhile are gone, so
+ * the caches are cleared on every (re)connection.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "postgres", matchIfMissing = true)
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    private static final char SEPARATOR = '|';
+    private static final char KEY_SEPARATOR = '\n';
+    // PostgreSQL refuse les payloads de 8000 octets ou plus
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+    // Clé non transmissible (trop longue, ou contenant le séparateur) : tous les caches sont vidés
+    private static final String ALL_KEYS = "*";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final LocalInvalidationDispatcher dispatcher;
+    private final String channel;
+    private final int pollMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresInvalidationBus(JdbcTemplate jdbcTemplate,
+                                   DataSource dataSource,
+                                   LocalInvalidationDispatcher dispatcher,
+                                   @Value("${app.cache.invalidation.channel:cache_invalidation}") String channel,
+                                   @Value("${app.cache.invalidation.poll-millis:500}") int pollMillis) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid NOTIFY channel name: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.dispatcher = dispatcher;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+    }
+
+    @Override
+    public void publish(InvalidationKey key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendNotifications(List.of(key));
+            dispatcher.dispatch(key);
+            return;
+        }
+        PendingKeys pending = (PendingKeys) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingKeys();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(key);
+    }
+
+    private void sendNotifications(Collection<InvalidationKey> keys) {
+        // Pas de try/catch : une erreur ici annule la transaction PostgreSQL de l'écriture
+        for (String payload : payloads(nodeId, keys)) {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class, channel, payload);
+        }
+    }
+
+    static List<String> payloads(String nodeId, Collection<InvalidationKey> keys) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId).append(SEPARATOR);
+        int header = payload.length();
+        int bytes = nodeId.getBytes(StandardCharsets.UTF_8).length + 1;
+        int headerBytes = bytes;
+        for (InvalidationKey key : keys) {
+            String encoded = key.encode();
+            int size = encoded.getBytes(StandardCharsets.UTF_8).length;
+            if (encoded.indexOf(KEY_SEPARATOR) >= 0 || headerBytes + size > MAX_PAYLOAD_BYTES) {
+                encoded = ALL_KEYS;
+                size = 1;
+            }
+            if (payload.length() > header && bytes + 1 + size > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload.setLength(header);
+                bytes = headerBytes;
+            }
+            if (payload.length() > header) {
+                payload.append(KEY_SEPARATOR);
+                bytes++;
+            }
+            payload.append(encoded);
+            bytes += size;
+        }
+        if (payload.length() > header) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Keys published by one transaction. Registered on the first key, it sends them
+     * all before the commit and evicts them locally once the commit succeeded.
+     */
+    private final class PendingKeys implements TransactionSynchronization {
+        private final Set<InvalidationKey> keys = new LinkedHashSet<>();
+        private boolean notified;
+
+        void add(InvalidationKey key) {
+            if (!keys.add(key)) {
+                return;
+            }
+            if (notified) {
+                // Publiée par une synchronisation passée après la nôtre
+                sendNotifications(List.of(key));
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            sendNotifications(keys);
+            notified = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            for (InvalidationKey key : List.copyOf(keys)) {
+                dispatcher.dispatch(key);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PostgresInvalidationBus.this);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        long backoffMillis = 1000;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                // Tout ce qui a été publié avant le LISTEN a pu être manqué
+                dispatcher.dispatchAll();
+                backoffMillis = 1000;
+                logger.info("Listening for cache invalidations on channel {}", channel);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Cache invalidation listener lost its connection, retrying in {} ms", backoffMillis, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, 30_000);
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            logger.warn("Ignoring malformed invalidation payload {}", payload);
+            return;
+        }
+        if (payload.regionMatches(0, nodeId, 0, separator) && separator == nodeId.length()) {
+            return; // déjà invalidé localement après le commit
+        }
+        for (String encoded : payload.substring(separator + 1).split(String.valueOf(KEY_SEPARATOR))) {
+            if (ALL_KEYS.equals(encoded)) {
+                dispatcher.dispatchAll();
+                continue;
+            }
+            try {
+                dispatcher.dispatch(InvalidationKey.decode(encoded));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed invalidation key {}", encoded);
+            }
+        }
+    }
+}
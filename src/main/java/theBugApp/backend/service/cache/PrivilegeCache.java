@@ -0,0 +1,45 @@
+package theBugApp.backend.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import theBugApp.backend.enums.PrivilegeTier;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * {@link PrivilegeTier} bits by user id. The reputation ledger publishes the
+ * user key whenever it changes a user's reputation, so entries only outlive a
+ * change by the time it takes the invalidation to arrive; the TTL is a backstop.
+ */
+@Component
+public class PrivilegeCache implements InvalidationListener {
+
+    private final Cache<Long, Integer> privileges;
+
+    public PrivilegeCache(@Value("${app.cache.privileges.max-size:50000}") long maxSize,
+                          @Value("${app.cache.privileges.ttl-seconds:300}") long ttlSeconds) {
+        this.privileges = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public int get(Long userId, Function<Long, Integer> loader) {
+        return privileges.get(userId, loader);
+    }
+
+    @Override
+    public void invalidate(InvalidationKey key) {
+        if (key.kind() == InvalidationKey.Kind.USER) {
+            privileges.invalidate(key.longValue());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        privileges.invalidateAll();
+    }
+}
@@ -0,0 +1,25 @@
+package theBugApp.backend.service.cache;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import theBugApp.backend.service.QuestionChangedEvent;
+
+/**
+ * Turns every {@link QuestionChangedEvent} into a question invalidation. Runs
+ * synchronously inside the publishing transaction; the bus deduplicates the keys
+ * of the transaction and sends them in one NOTIFY that commits with it.
+ */
+@Component
+public class QuestionChangeInvalidation {
+
+    private final InvalidationBus invalidationBus;
+
+    public QuestionChangeInvalidation(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+    }
+
+    @EventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        invalidationBus.publish(InvalidationKey.question(event.questionId()));
+    }
+}
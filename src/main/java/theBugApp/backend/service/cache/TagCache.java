@@ -0,0 +1,51 @@
+package theBugApp.backend.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import theBugApp.backend.dto.FullTagDTO;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Tag pages ({@link FullTagDTO}) by lower-cased tag name. Question counts change
+ * when a question is created or retagged and follower counts on (un)follow; both
+ * paths publish the tag key on the {@link InvalidationBus}. Concurrent misses on
+ * the same tag share one load.
+ */
+@Component
+public class TagCache implements InvalidationListener {
+
+    private final Cache<String, FullTagDTO> tags;
+    private final SingleFlight<String, FullTagDTO> loads = new SingleFlight<>();
+
+    public TagCache(@Value("${app.cache.tag.max-size:5000}") long maxSize,
+                    @Value("${app.cache.tag.ttl-seconds:600}") long ttlSeconds) {
+        this.tags = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public FullTagDTO get(String tagName, Function<String, FullTagDTO> loader) {
+        String key = tagName.toLowerCase().trim();
+        FullTagDTO cached = tags.getIfPresent(key);
+        return cached != null ? cached : loads.execute(key, loader, tags::put);
+    }
+
+    @Override
+    public void invalidate(InvalidationKey key) {
+        if (key.kind() == InvalidationKey.Kind.TAG) {
+            loads.forget(key.value());
+            tags.invalidate(key.value());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        loads.forgetAll();
+        tags.invalidateAll();
+    }
+}
@@ -0,0 +1,45 @@
+package theBugApp.backend.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import theBugApp.backend.dto.UserDto;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Public user profiles ({@link UserDto}) by user id. Profile edits, follows and
+ * reputation changes publish the user key; activity counters move on every
+ * vote, so those are only bounded by the short TTL.
+ */
+@Component
+public class UserProfileCache implements InvalidationListener {
+
+    private final Cache<Long, UserDto> profiles;
+
+    public UserProfileCache(@Value("${app.cache.user-profile.max-size:20000}") long maxSize,
+                            @Value("${app.cache.user-profile.ttl-seconds:60}") long ttlSeconds) {
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public UserDto get(Long userId, Function<Long, UserDto> loader) {
+        return profiles.get(userId, loader);
+    }
+
+    @Override
+    public void invalidate(InvalidationKey key) {
+        if (key.kind() == InvalidationKey.Kind.USER) {
+            profiles.invalidate(key.longValue());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        profiles.invalidateAll();
+    }
+}
@@ -0,0 +1,200 @@
+package theBugApp.backend.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import theBugApp.backend.entity.Question;
+import theBugApp.backend.repository.AnswerRepository;
+import theBugApp.backend.repository.QuestionRepository;
+import theBugApp.backend.repository.TagRepository;
+import theBugApp.backend.service.LexicalContentProcessor;
+import theBugApp.backend.service.QuestionChangedEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Serves question search from an {@link InvertedIndex} held by this node.
+ * At startup the index is reopened from the last snapshot (replaying only the
+ * questions changed since), or built from the database when there is none. It is
+ * then kept up to date from {@link QuestionChangedEvent}s once their transaction
+ * has committed, and snapshotted periodically.
+ */
+@Service
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+public class InMemoryQuestionSearchEngine implements QuestionSearchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryQuestionSearchEngine.class);
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+    private final QuestionRepository questionRepository;
+    private final TagRepository tagRepository;
+    private final AnswerRepository answerRepository;
+    private final LexicalContentProcessor lexicalProcessor;
+    private final TransactionTemplate readTransaction;
+    private final Path snapshotPath;
+    // Les transactions encore ouvertes au moment du snapshot peuvent avoir un updatedAt antérieur
+    private final long replayMarginMs;
+
+    public InMemoryQuestionSearchEngine(QuestionRepository questionRepository,
+                                        TagRepository tagRepository,
+                                        AnswerRepository answerRepository,
+                                        LexicalContentProcessor lexicalProcessor,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.search.snapshot-path:data/question-index.snapshot}") String snapshotPath,
+                                        @Value("${app.search.snapshot-replay-margin-ms:300000}") long replayMarginMs) {
+        this.questionRepository = questionRepository;
+        this.tagRepository = tagRepository;
+        this.answerRepository = answerRepository;
+        this.lexicalProcessor = lexicalProcessor;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.snapshotPath = Path.of(snapshotPath);
+        this.replayMarginMs = replayMarginMs;
+    }
+
+    @Override
+    public List<Long> search(String query, String tag, int page, int size) {
+        return index.search(query, tag, Math.max(page, 0) * size, size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long start = System.currentTimeMillis();
+        if (Files.exists(snapshotPath)) {
+            try {
+                InvertedIndex.Snapshot snapshot = InvertedIndex.openSnapshot(snapshotPath);
+                index = snapshot.index();
+                int replayed = replayChangesSince(snapshot.takenAtMillis() - replayMarginMs);
+                ready = true;
+                logger.info("Search index reopened from {} with {} questions, {} replayed, in {} ms",
+                        snapshotPath, index.size(), replayed, System.currentTimeMillis() - start);
+                return;
+            } catch (IOException | RuntimeException ex) {
+                logger.warn("Could not reopen search index snapshot {}, rebuilding from the database", snapshotPath, ex);
+                index = new InvertedIndex();
+            }
+        }
+        buildIndex();
+        ready = true;
+        logger.info("Search index built with {} questions in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(initialDelayString = "${app.search.snapshot-interval-ms:600000}",
+            fixedDelayString = "${app.search.snapshot-interval-ms:600000}")
+    public void writeSnapshot() {
+        if (!ready) {
+            return;
+        }
+        long takenAt = System.currentTimeMillis();
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            index.writeSnapshot(snapshotPath, takenAt);
+            logger.debug("Search index snapshot written to {} in {} ms", snapshotPath, System.currentTimeMillis() - takenAt);
+        } catch (IOException ex) {
+            logger.error("Could not write search index snapshot to {}", snapshotPath, ex);
+        }
+    }
+
+    private int replayChangesSince(long sinceMillis) {
+        List<Long> changedIds = questionRepository.findIdsChangedSince(new Timestamp(sinceMillis));
+        for (int from = 0; from < changedIds.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> ids = changedIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, changedIds.size()));
+            readTransaction.executeWithoutResult(status -> reindex(ids));
+        }
+        return changedIds.size();
+    }
+
+    private void buildIndex() {
+        long lastId = 0;
+        while (true) {
+            long after = lastId;
+            List<Question> batch = readTransaction.execute(status -> {
+                List<Question> questions = questionRepository.findTop500ByIdGreaterThanOrderByIdAsc(after);
+                indexQuestions(questions);
+                return questions;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+            if (batch.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        if (!event.type().isContentChanged()) {
+            return;
+        }
+        try {
+            readTransaction.executeWithoutResult(status -> reindex(List.of(event.questionId())));
+        } catch (RuntimeException ex) {
+            // L'index sera corrigé à la prochaine modification ou au prochain démarrage
+            logger.error("Could not reindex question {}", event.questionId(), ex);
+        }
+    }
+
+    private void reindex(List<Long> ids) {
+        List<Question> questions = questionRepository.findAllById(ids);
+        indexQuestions(questions);
+        if (questions.size() < ids.size()) {
+            Set<Long> found = new HashSet<>();
+            questions.forEach(q -> found.add(q.getId()));
+            ids.stream().filter(id -> !found.contains(id)).forEach(index::remove);
+        }
+    }
+
+    private void indexQuestions(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return;
+        }
+        List<Long> ids = questions.stream().map(Question::getId).toList();
+
+        Map<Long, List<String>> tagsByQuestion = new HashMap<>();
+        for (Object[] row : tagRepository.findTagNamesForQuestionIds(ids)) {
+            tagsByQuestion.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        Map<Long, StringBuilder> answersByQuestion = new HashMap<>();
+        for (Object[] row : answerRepository.findContentByQuestionIds(ids)) {
+            // plainTextContent est null pour les réponses pas encore traitées par le backfill
+            String plainText = row[1] != null ? (String) row[1] : lexicalProcessor.extractPlainText((String) row[2]);
+            answersByQuestion.computeIfAbsent((Long) row[0], k -> new StringBuilder())
+                    .append(' ').append(plainText);
+        }
+
+        for (Question question : questions) {
+            StringBuilder body = new StringBuilder();
+            if (question.getPlainTextContent() != null) {
+                body.append(question.getPlainTextContent());
+            }
+            StringBuilder answers = answersByQuestion.get(question.getId());
+            if (answers != null) {
+                body.append(answers);
+            }
+            index.upsert(question.getId(), question.getTitle(), body.toString(),
+                    tagsByQuestion.getOrDefault(question.getId(), Collections.emptyList()));
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package theBugApp.backend.service.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over questions with BM25 scoring.
+ * <p>
+ * Every version of a question gets a new internal doc id, so posting lists only
+ * ever grow at their end; the previous doc id is tombstoned, and once enough
+ * tombstones have accumulated the live documents are renumbered from 0 so the
+ * doc tables stay as large as the live set. The terms of each document are kept
+ * so that removing it updates the live document frequencies the IDF is computed
+ * from, tombstones or not.
+ */
+public class InvertedIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}_]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "i", "in", "is",
+            "it", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when", "with");
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Le titre et les tags pèsent plus que le corps
+    private static final int TITLE_BOOST = 3;
+    private static final int TAG_BOOST = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 32;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int SNAPSHOT_MAGIC = 0x51494458; // "QIDX"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    // Tampon de scores réutilisé par thread ; remis à zéro via la liste des docs touchés
+    private static final ThreadLocal<ScoreBuffer> SCORE_BUFFERS = ThreadLocal.withInitial(ScoreBuffer::new);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> terms = new TreeMap<>();
+    private final Map<String, PostingList> tags = new HashMap<>();
+    private final Map<Long, Integer> docByQuestion = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private long[] questionIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private String[][] docTerms = new String[1024][];
+    private int maxDoc;
+    private int liveDocs;
+    private int deletedDocs;
+    private long totalLength;
+
+    public void upsert(long questionId, String title, String body, Collection<String> tagNames) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(frequencies, title, TITLE_BOOST);
+        addTokens(frequencies, body, 1);
+        Set<String> normalizedTags = new HashSet<>();
+        for (String tag : tagNames) {
+            String normalized = tag.toLowerCase(Locale.ROOT);
+            normalizedTags.add(normalized);
+            addTokens(frequencies, normalized, TAG_BOOST);
+        }
+        int length = 0;
+        for (int tf : frequencies.values()) {
+            length += tf;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(questionId);
+            int doc = maxDoc++;
+            if (doc == questionIds.length) {
+                questionIds = Arrays.copyOf(questionIds, doc * 2);
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+                docTerms = Arrays.copyOf(docTerms, doc * 2);
+            }
+            questionIds[doc] = questionId;
+            docLengths[doc] = length;
+            docByQuestion.put(questionId, doc);
+            liveDocs++;
+            totalLength += length;
+
+            String[] termsOfDoc = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                // La chaîne déjà présente dans le dictionnaire est réutilisée pour docTerms
+                String term = entry.getKey();
+                Map.Entry<String, PostingList> existing = terms.ceilingEntry(term);
+                PostingList postings;
+                if (existing != null && existing.getKey().equals(term)) {
+                    term = existing.getKey();
+                    postings = existing.getValue();
+                } else {
+                    postings = new PostingList();
+                    terms.put(term, postings);
+                }
+                postings.add(doc, entry.getValue());
+                termsOfDoc[i++] = term;
+            }
+            docTerms[doc] = termsOfDoc;
+            for (String tag : normalizedTags) {
+                tags.computeIfAbsent(tag, k -> new PostingList()).add(doc, 1);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long questionId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(questionId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Question ids ranked by BM25. The last query term is also matched as a prefix;
+     * a document matches if it contains any of the terms.
+     */
+    public List<Long> search(String query, String tag, int offset, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return Collections.emptyList();
+            }
+            BitSet allowed = null;
+            if (tag != null) {
+                PostingList tagPostings = tags.get(tag.toLowerCase(Locale.ROOT));
+                if (tagPostings == null) {
+                    return Collections.emptyList();
+                }
+                allowed = toBitSet(tagPostings);
+            }
+
+            float averageLength = (float) totalLength / liveDocs;
+            ScoreBuffer buffer = SCORE_BUFFERS.get();
+            float[] scores = buffer.scores(maxDoc);
+            BitSet seen = buffer.seen;
+            int[] touched = buffer.touched;
+            int touchedCount = 0;
+
+            for (PostingList postings : matchingPostings(tokens)) {
+                int docFreq = postings.liveDocFreq();
+                if (docFreq <= 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveDocs - docFreq + 0.5) / (docFreq + 0.5));
+                PostingList.Cursor cursor = postings.cursor();
+                while (cursor.next()) {
+                    int doc = cursor.doc;
+                    if (deleted.get(doc) || (allowed != null && !allowed.get(doc))) {
+                        continue;
+                    }
+                    float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                    if (!seen.get(doc)) {
+                        seen.set(doc);
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = doc;
+                    }
+                    scores[doc] += (float) (idf * cursor.tf * (K1 + 1) / (cursor.tf + norm));
+                }
+            }
+
+            buffer.touched = touched;
+            try {
+                return topK(scores, touched, touchedCount, offset, limit);
+            } finally {
+                for (int i = 0; i < touchedCount; i++) {
+                    scores[touched[i]] = 0f;
+                    seen.clear(touched[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the live documents, renumbered from 0, to {@code file}. The write goes
+     * to a temporary file that is then moved over the previous snapshot.
+     */
+    public void writeSnapshot(Path file, long takenAtMillis) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            int[] newDocs = liveDocNumbers();
+
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(takenAtMillis);
+            out.writeInt(liveDocs);
+            out.writeLong(totalLength);
+            for (int doc = 0; doc < maxDoc; doc++) {
+                if (!deleted.get(doc)) {
+                    out.writeLong(questionIds[doc]);
+                    out.writeInt(docLengths[doc]);
+                }
+            }
+            writePostings(out, terms, newDocs);
+            writePostings(out, tags, newDocs);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reopens a snapshot written by {@link #writeSnapshot}. The doc table and term
+     * dictionary are read onto the heap; the postings stay in the mapped file.
+     */
+    public static Snapshot openSnapshot(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + channel.size() + " bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a question index snapshot: " + file);
+            }
+            long takenAt = buffer.getLong();
+            InvertedIndex index = new InvertedIndex();
+            int live = buffer.getInt();
+            index.totalLength = buffer.getLong();
+            index.questionIds = new long[Math.max(live * 2, 1024)];
+            index.docLengths = new int[index.questionIds.length];
+            for (int doc = 0; doc < live; doc++) {
+                long questionId = buffer.getLong();
+                index.questionIds[doc] = questionId;
+                index.docLengths[doc] = buffer.getInt();
+                index.docByQuestion.put(questionId, doc);
+            }
+            index.maxDoc = live;
+            index.liveDocs = live;
+            readPostings(buffer, index.terms);
+            readPostings(buffer, index.tags);
+            index.rebuildDocTerms();
+            return new Snapshot(index, takenAt);
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            throw new IOException("Corrupted question index snapshot: " + file, ex);
+        }
+    }
+
+    public record Snapshot(InvertedIndex index, long takenAtMillis) {}
+
+    // Les termes de chaque document ne sont pas dans le snapshot : retrouvés en parcourant les postings
+    private void rebuildDocTerms() {
+        int[] counts = new int[maxDoc];
+        for (PostingList postings : terms.values()) {
+            PostingList.Cursor cursor = postings.cursor();
+            while (cursor.next()) {
+                counts[cursor.doc]++;
+            }
+        }
+        docTerms = new String[questionIds.length][];
+        for (int doc = 0; doc < maxDoc; doc++) {
+            docTerms[doc] = new String[counts[doc]];
+        }
+        Arrays.fill(counts, 0);
+        for (Map.Entry<String, PostingList> entry : terms.entrySet()) {
+            PostingList.Cursor cursor = entry.getValue().cursor();
+            while (cursor.next()) {
+                docTerms[cursor.doc][counts[cursor.doc]++] = entry.getKey();
+            }
+        }
+    }
+
+    private void writePostings(DataOutputStream out, Map<String, PostingList> postings, int[] newDocs) throws IOException {
+        out.writeInt(postings.size());
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            PostingList live = entry.getValue().renumbered(deleted, newDocs);
+            byte[] term = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeShort(term.length);
+            out.write(term);
+            if (live == null) {
+                out.writeInt(0);
+                out.writeInt(-1);
+                out.writeInt(0);
+                continue;
+            }
+            out.writeInt(live.docFreq());
+            out.writeInt(live.lastDoc());
+            out.writeInt(live.sizeInBytes());
+            live.writeEncoded(out);
+        }
+    }
+
+    private static void readPostings(ByteBuffer buffer, Map<String, PostingList> postings) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] term = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(term);
+            int docFreq = buffer.getInt();
+            int lastDoc = buffer.getInt();
+            int size = buffer.getInt();
+            if (docFreq == 0) {
+                continue;
+            }
+            ByteBuffer bytes = buffer.slice(buffer.position(), size);
+            buffer.position(buffer.position() + size);
+            postings.put(new String(term, StandardCharsets.UTF_8), PostingList.frozen(bytes, docFreq, lastDoc));
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private List<PostingList> matchingPostings(List<String> tokens) {
+        Set<String> matched = new LinkedHashSet<>(tokens);
+        String last = tokens.get(tokens.size() - 1);
+        int expansions = 0;
+        for (String term : terms.subMap(last, true, last + Character.MAX_VALUE, false).keySet()) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            matched.add(term);
+        }
+        List<PostingList> postings = new ArrayList<>(matched.size());
+        for (String term : matched) {
+            PostingList list = terms.get(term);
+            if (list != null) {
+                postings.add(list);
+            }
+        }
+        return postings;
+    }
+
+    private List<Long> topK(float[] scores, int[] touched, int touchedCount, int offset, int limit) {
+        int k = offset + limit;
+        // Tas min sur le score ; à score égal le document le plus récent gagne
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, (a, b) -> {
+            int byScore = Float.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+        for (int i = 0; i < touchedCount; i++) {
+            heap.offer(touched[i]);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<Long> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(questionIds[heap.poll()]);
+        }
+        Collections.reverse(ranked);
+        if (offset >= ranked.size()) {
+            return Collections.emptyList();
+        }
+        return ranked.subList(offset, ranked.size());
+    }
+
+    private void removeLocked(long questionId) {
+        Integer previous = docByQuestion.remove(questionId);
+        if (previous != null) {
+            deleted.set(previous);
+            deletedDocs++;
+            liveDocs--;
+            totalLength -= docLengths[previous];
+            for (String term : docTerms[previous]) {
+                PostingList postings = terms.get(term);
+                if (postings != null) {
+                    postings.removeLive();
+                }
+            }
+            docTerms[previous] = null;
+        }
+    }
+
+    // Nouveau numéro de chaque document vivant dans l'ordre des doc ids, -1 pour les tombstones
+    private int[] liveDocNumbers() {
+        int[] newDocs = new int[maxDoc];
+        int live = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            newDocs[doc] = deleted.get(doc) ? -1 : live++;
+        }
+        return newDocs;
+    }
+
+    // Renumérote les documents vivants à partir de 0 quand les tombstones dépassent un tiers des documents vivants
+    private void compactIfNeeded() {
+        if (deletedDocs < 1024 || deletedDocs < liveDocs / 3) {
+            return;
+        }
+        int[] newDocs = liveDocNumbers();
+        compactPostings(terms.entrySet().iterator(), newDocs);
+        compactPostings(tags.entrySet().iterator(), newDocs);
+
+        long[] liveQuestionIds = new long[Math.max(liveDocs * 2, 1024)];
+        int[] liveLengths = new int[liveQuestionIds.length];
+        String[][] liveTerms = new String[liveQuestionIds.length][];
+        for (int doc = 0; doc < maxDoc; doc++) {
+            int newDoc = newDocs[doc];
+            if (newDoc >= 0) {
+                liveQuestionIds[newDoc] = questionIds[doc];
+                liveLengths[newDoc] = docLengths[doc];
+                liveTerms[newDoc] = docTerms[doc];
+                docByQuestion.put(questionIds[doc], newDoc);
+            }
+        }
+        questionIds = liveQuestionIds;
+        docLengths = liveLengths;
+        docTerms = liveTerms;
+        maxDoc = liveDocs;
+        deleted.clear();
+        deletedDocs = 0;
+    }
+
+    private void compactPostings(Iterator<Map.Entry<String, PostingList>> entries, int[] newDocs) {
+        while (entries.hasNext()) {
+            Map.Entry<String, PostingList> entry = entries.next();
+            PostingList compacted = entry.getValue().renumbered(deleted, newDocs);
+            if (compacted == null) {
+                entries.remove();
+            } else {
+                entry.setValue(compacted);
+            }
+        }
+    }
+
+    private static final class ScoreBuffer {
+        private float[] scores = new float[0];
+        private final BitSet seen = new BitSet();
+        private int[] touched = new int[16];
+
+        // Tableau nul sur ses maxDoc premières cases
+        float[] scores(int maxDoc) {
+            if (scores.length < maxDoc) {
+                scores = new float[Math.max(maxDoc, scores.length * 2)];
+            }
+            return scores;
+        }
+    }
+
+    private static BitSet toBitSet(PostingList postings) {
+        BitSet bits = new BitSet();
+        PostingList.Cursor cursor = postings.cursor();
+        while (cursor.next()) {
+            bits.set(cursor.doc);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,57 @@
+package theBugApp.backend.service.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import theBugApp.backend.repository.QuestionRepository;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Ranked full-text search on the questions.search_vector column (title weighted
+ * above plainTextContent, GIN-indexed). Every term of the query is matched as a prefix.
+ */
+@Service
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PostgresQuestionSearchEngine implements QuestionSearchEngine {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}_]+");
+    private static final int MAX_TERMS = 16;
+
+    private final QuestionRepository questionRepository;
+
+    @Override
+    public List<Long> search(String query, String tag, int page, int size) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery == null) {
+            return Collections.emptyList();
+        }
+        int offset = Math.max(page, 0) * size;
+        return tag != null
+                ? questionRepository.fullTextSearchIdsByTag(tsQuery, tag, size, offset)
+                : questionRepository.fullTextSearchIds(tsQuery, size, offset);
+    }
+
+    // "spring boot" -> "spring:* & boot:*" ; null si la requête ne contient aucun terme
+    static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringJoiner joiner = new StringJoiner(" & ");
+        int terms = 0;
+        for (String token : NON_WORD.split(query.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            joiner.add(token + ":*");
+            if (++terms == MAX_TERMS) {
+                break;
+            }
+        }
+        return terms == 0 ? null : joiner.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package theBugApp.backend.service.search;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Append-only posting list of (doc, term frequency) pairs. Doc ids are strictly
+ * increasing, so they are stored as varint-encoded gaps followed by the varint tf.
+ * <p>
+ * A list loaded from a snapshot starts with a read-only frozen part that stays in
+ * the memory-mapped file; later additions go to the heap tail.
+ */
+final class PostingList {
+
+    private ByteBuffer frozen;
+    private int frozenLength;
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastDoc = -1;
+    private int docFreq;
+    // Documents non supprimés de la liste : c'est lui qui sert à l'IDF
+    private int liveDocFreq;
+
+    PostingList() {
+    }
+
+    static PostingList frozen(ByteBuffer bytes, int docFreq, int lastDoc) {
+        PostingList list = new PostingList();
+        list.frozen = bytes;
+        list.frozenLength = bytes.remaining();
+        list.data = new byte[0];
+        list.docFreq = docFreq;
+        list.liveDocFreq = docFreq;
+        list.lastDoc = lastDoc;
+        return list;
+    }
+
+    void add(int doc, int tf) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Doc ids must be increasing: " + doc + " after " + lastDoc);
+        }
+        ensureCapacity(10);
+        writeVarInt(doc - lastDoc);
+        writeVarInt(tf);
+        lastDoc = doc;
+        docFreq++;
+        liveDocFreq++;
+    }
+
+    // Un document de la liste a été supprimé ; ses postings restent jusqu'au compactage
+    void removeLive() {
+        liveDocFreq--;
+    }
+
+    int docFreq() {
+        return docFreq;
+    }
+
+    int liveDocFreq() {
+        return liveDocFreq;
+    }
+
+    int lastDoc() {
+        return lastDoc;
+    }
+
+    int sizeInBytes() {
+        return frozenLength + length;
+    }
+
+    void writeEncoded(DataOutput out) throws IOException {
+        for (int i = 0; i < frozenLength; i++) {
+            out.writeByte(frozen.get(i));
+        }
+        out.write(data, 0, length);
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Copie sans les documents supprimés, avec les doc ids remappés ; null si la liste devient vide
+    PostingList renumbered(BitSet deleted, int[] newDocs) {
+        PostingList compacted = new PostingList();
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (!deleted.get(cursor.doc)) {
+                compacted.add(newDocs[cursor.doc], cursor.tf);
+            }
+        }
+        if (compacted.docFreq == 0) {
+            return null;
+        }
+        compacted.data = Arrays.copyOf(compacted.data, compacted.length);
+        return compacted;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    final class Cursor {
+        private int position;
+        int doc = -1;
+        int tf;
+
+        boolean next() {
+            if (position >= frozenLength + length) {
+                return false;
+            }
+            doc += readVarInt();
+            tf = readVarInt();
+            return true;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = position < frozenLength ? frozen.get(position) : data[position - frozenLength];
+                position++;
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package theBugApp.backend.service.search;
+
+import java.util.List;
+
+/**
+ * Search backend used by QuestionServiceImpl.searchQuestions, selected with
+ * app.search.engine (postgres by default, or memory).
+ */
+public interface QuestionSearchEngine {
+
+    // Ids of the matching questions, most relevant first
+    List<Long> search(String query, String tag, int page, int size);
+}
@@ -0,0 +1,27 @@
+-- Recherche plein texte : colonne ordinaire tenue à jour par un trigger.
+-- Une colonne GENERATED ... STORED réécrirait toute la table sous verrou ACCESS EXCLUSIVE ;
+-- les lignes existantes sont remplies par lots (V2) et l'index GIN est construit en CONCURRENTLY (V8).
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+-- Bases où l'ancienne colonne générée existe déjà : on garde les valeurs, sans réécriture
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'questions'
+                 AND column_name = 'search_vector' AND is_generated = 'ALWAYS') THEN
+        ALTER TABLE questions ALTER COLUMN search_vector DROP EXPRESSION;
+    END IF;
+END $$;
+
+CREATE OR REPLACE FUNCTION questions_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := setweight(to_tsvector('english', coalesce(NEW.title, '')), 'A') ||
+                         setweight(to_tsvector('english', coalesce(NEW.plain_text_content, '')), 'B');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_questions_search_vector ON questions;
+CREATE TRIGGER trg_questions_search_vector
+    BEFORE INSERT OR UPDATE OF title, plain_text_content ON questions
+    FOR EACH ROW EXECUTE FUNCTION questions_search_vector_update();
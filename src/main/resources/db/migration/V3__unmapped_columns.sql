@@ -0,0 +1,6 @@
+-- Sketch HyperLogLog des lecteurs : non mappé, pour ne pas charger 2 Ko avec chaque question
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS viewer_sketch bytea;
+
+-- Compteur d'écritures du ledger de réputation : non mappé, estampille de DailyReputationAccumulator.
+-- Défaut constant : ajout sans réécriture de la table (PostgreSQL 11+)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS reputation_seq bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Reprise des acceptations antérieures à la colonne accepted_answer_id ; ne touche que les lignes divergentes
+UPDATE questions q SET accepted_answer_id = a.id
+FROM answers a
+WHERE a.question_id = q.id AND a.is_accepted AND q.accepted_answer_id IS DISTINCT FROM a.id;
@@ -0,0 +1,9 @@
+-- NOT VALID : pas de parcours de la table sous verrou ; la validation se fait à part (V6)
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conname = 'fk_questions_accepted_answer' AND conrelid = 'questions'::regclass) THEN
+        ALTER TABLE questions ADD CONSTRAINT fk_questions_accepted_answer FOREIGN KEY (accepted_answer_id)
+            REFERENCES answers (id) ON DELETE SET NULL NOT VALID;
+    END IF;
+END $$;
@@ -0,0 +1,2 @@
+-- SHARE UPDATE EXCLUSIVE : les écritures continuent pendant la vérification
+ALTER TABLE questions VALIDATE CONSTRAINT fk_questions_accepted_answer;
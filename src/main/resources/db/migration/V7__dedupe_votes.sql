@@ -0,0 +1,8 @@
+-- Un seul vote par (utilisateur, post) : on retire les doublons laissés par les courses de l'ancien
+-- chemin d'écriture avant de créer les index uniques (V8). Scores et compteurs sont recalculés
+-- par les jobs de réparation.
+DELETE FROM vote a USING vote b
+WHERE a.user_id = b.user_id AND a.question_id = b.question_id AND a.id > b.id;
+
+DELETE FROM vote a USING vote b
+WHERE a.user_id = b.user_id AND a.answer_id = b.answer_id AND a.id > b.id;
@@ -0,0 +1,22 @@
+-- CONCURRENTLY : construits sans bloquer les écritures (migration hors transaction)
+
+-- Liste "unanswered" : seules les questions sans réponse sont indexées
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_unanswered
+    ON questions (created_at DESC, id DESC) WHERE answer_count = 0;
+
+-- Liste "unaccepted"
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_unaccepted
+    ON questions (created_at DESC, id DESC) WHERE accepted_answer_id IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_search_vector
+    ON questions USING GIN (search_vector);
+
+-- Au plus une réponse acceptée par question
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_answers_accepted_per_question
+    ON answers (question_id) WHERE is_accepted;
+
+-- Cibles des ON CONFLICT de VoteWriter
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_vote_user_question
+    ON vote (user_id, question_id) WHERE question_id IS NOT NULL;
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_vote_user_answer
+    ON vote (user_id, answer_id) WHERE answer_id IS NOT NULL;
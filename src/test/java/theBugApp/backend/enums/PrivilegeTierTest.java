@@ -0,0 +1,20 @@
+package theBugApp.backend.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrivilegeTierTest {
+
+    @Test
+    void bitsMatchThresholds() {
+        for (int reputation : new int[]{1, 14, 15, 50, 124, 125, 1500, 2000, 9999, 10000}) {
+            int bits = PrivilegeTier.bitsFor(reputation);
+            for (PrivilegeTier tier : PrivilegeTier.values()) {
+                assertEquals(reputation >= tier.getMinReputation(), tier.isIn(bits), tier + " at " + reputation);
+            }
+        }
+        assertEquals(0, PrivilegeTier.bitsFor(1));
+        assertEquals((1 << PrivilegeTier.values().length) - 1, PrivilegeTier.bitsFor(10000));
+    }
+}
@@ -0,0 +1,56 @@
+package theBugApp.backend.service;
+
+import org.junit.jupiter.api.Test;
+import theBugApp.backend.service.cache.InvalidationKey;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyReputationAccumulatorTest {
+
+    @Test
+    void entryIsOnlyTrustedForTheSeqItWasComputedAgainst() {
+        DailyReputationAccumulator accumulator = new DailyReputationAccumulator();
+        accumulator.record(7L, LocalDate.now(), 120, 3);
+
+        assertEquals(120, accumulator.earnedToday(7L, 3));
+        assertNull(accumulator.earnedToday(7L, 4));
+        assertEquals(120, accumulator.earnedToday(7L));
+        assertNull(accumulator.earnedToday(8L));
+    }
+
+    @Test
+    void previousDaysAreIgnoredAndRolledOver() {
+        DailyReputationAccumulator accumulator = new DailyReputationAccumulator();
+        accumulator.record(7L, LocalDate.now().minusDays(1), 200, 1);
+        assertNull(accumulator.earnedToday(7L));
+
+        accumulator.record(8L, LocalDate.now(), 10, 1);
+        accumulator.rollOver();
+        assertEquals(1, accumulator.size());
+        assertEquals(10, accumulator.earnedToday(8L, 1));
+    }
+
+    @Test
+    void userInvalidationDropsTheDisplayedTotal() {
+        DailyReputationAccumulator accumulator = new DailyReputationAccumulator();
+        accumulator.record(7L, LocalDate.now(), 120, 3);
+        accumulator.record(8L, LocalDate.now(), 10, 1);
+
+        accumulator.invalidate(InvalidationKey.question(7L));
+        assertEquals(120, accumulator.earnedToday(7L));
+        accumulator.invalidate(InvalidationKey.user(7L));
+        assertNull(accumulator.earnedToday(7L));
+        assertEquals(10, accumulator.earnedToday(8L));
+    }
+
+    @Test
+    void staleSeedDoesNotReplaceANewerEntry() {
+        DailyReputationAccumulator accumulator = new DailyReputationAccumulator();
+        accumulator.record(7L, LocalDate.now(), 130, 4);
+        accumulator.record(7L, LocalDate.now(), 120, 3);
+
+        assertEquals(130, accumulator.earnedToday(7L, 4));
+    }
+}
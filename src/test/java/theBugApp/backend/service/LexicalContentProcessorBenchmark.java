@@ -0,0 +1,134 @@
+package theBugApp.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming extraction against the previous tree-based implementation
+ * (isLexicalJson + extractPlainText, i.e. two readTree calls per post).
+ * Run with the main method from the IDE or after mvn test-compile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LexicalContentProcessorBenchmark {
+
+    @Param({"small", "code-heavy"})
+    public String post;
+
+    private String content;
+    private final LexicalContentProcessor streaming = new LexicalContentProcessor();
+    private final TreeExtractor tree = new TreeExtractor();
+
+    @Setup
+    public void setUp() {
+        content = "small".equals(post) ? buildPost(3, 2, 0) : buildPost(40, 4, 200);
+        String expected = tree.extractPlainText(content);
+        if (!expected.equals(streaming.extractPlainText(content))) {
+            throw new IllegalStateException("Streaming and tree extraction disagree");
+        }
+    }
+
+    @Benchmark
+    public Object treeBased() {
+        boolean lexical = tree.isLexicalJson(content);
+        return lexical ? tree.extractPlainText(content) : content;
+    }
+
+    @Benchmark
+    public Object streaming() {
+        return streaming.analyze(content);
+    }
+
+    // Paragraphes de texte + blocs de code de codeLines lignes
+    private static String buildPost(int paragraphs, int textNodes, int codeLines) {
+        StringBuilder json = new StringBuilder("{\"root\":{\"children\":[");
+        for (int p = 0; p < paragraphs; p++) {
+            if (p > 0) {
+                json.append(',');
+            }
+            json.append("{\"children\":[");
+            for (int t = 0; t < textNodes; t++) {
+                if (t > 0) {
+                    json.append(',');
+                }
+                json.append("{\"detail\":0,\"format\":").append(t % 2)
+                        .append(",\"mode\":\"normal\",\"style\":\"\",\"text\":\"Some sentence about Spring Boot and Hibernate number ")
+                        .append(t).append("\",\"type\":\"text\",\"version\":1}");
+            }
+            json.append("],\"direction\":\"ltr\",\"format\":\"\",\"indent\":0,\"type\":\"paragraph\",\"version\":1}");
+            if (codeLines > 0 && p % 4 == 0) {
+                json.append(",{\"children\":[");
+                for (int l = 0; l < codeLines; l++) {
+                    if (l > 0) {
+                        json.append(",{\"type\":\"linebreak\",\"version\":1},");
+                    }
+                    json.append("{\"highlightType\":\"keyword\",\"text\":\"    return repository.findById(id).orElseThrow(() -> new NotFoundException(\\\"")
+                            .append(l).append("\\\"));\",\"type\":\"code-highlight\",\"version\":1}");
+                }
+                json.append("],\"language\":\"java\",\"type\":\"code\",\"version\":1}");
+            }
+        }
+        json.append("],\"direction\":\"ltr\",\"format\":\"\",\"indent\":0,\"type\":\"root\",\"version\":1}}");
+        return json.toString();
+    }
+
+    // Copie de l'ancienne implémentation basée sur JsonNode
+    static class TreeExtractor {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        String extractPlainText(String lexicalJson) {
+            try {
+                JsonNode rootNode = objectMapper.readTree(lexicalJson).get("root");
+                if (rootNode != null && rootNode.has("children")) {
+                    StringBuilder plainText = new StringBuilder();
+                    extractTextFromChildren(rootNode.get("children"), plainText);
+                    return plainText.toString().trim();
+                }
+                return "";
+            } catch (Exception e) {
+                return lexicalJson;
+            }
+        }
+
+        private void extractTextFromChildren(JsonNode children, StringBuilder plainText) {
+            if (children.isArray()) {
+                for (JsonNode child : children) {
+                    if (child.has("text")) {
+                        plainText.append(child.get("text").asText());
+                    }
+                    if (child.has("children")) {
+                        extractTextFromChildren(child.get("children"), plainText);
+                        if ("paragraph".equals(child.get("type").asText())) {
+                            plainText.append("\n");
+                        }
+                    }
+                }
+            }
+        }
+
+        boolean isLexicalJson(String content) {
+            try {
+                JsonNode root = objectMapper.readTree(content);
+                return root.has("root") && root.get("root").has("children");
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LexicalContentProcessorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package theBugApp.backend.service;
+
+import org.junit.jupiter.api.Test;
+import theBugApp.backend.service.LexicalContentProcessor.LexicalExtraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LexicalContentProcessorTest {
+
+    private final LexicalContentProcessor processor = new LexicalContentProcessor();
+
+    @Test
+    void plainTextIsReturnedAsIs() {
+        LexicalExtraction extraction = processor.analyze("How do I map a @OneToMany?");
+
+        assertFalse(extraction.lexical());
+        assertEquals("How do I map a @OneToMany?", extraction.plainText());
+    }
+
+    @Test
+    void malformedJsonIsTreatedAsPlainText() {
+        String content = "{\"root\":{\"children\":[{\"text\":\"unterminated\"";
+        LexicalExtraction extraction = processor.analyze(content);
+
+        assertFalse(extraction.lexical());
+        assertEquals(content, extraction.plainText());
+    }
+
+    @Test
+    void nestedListsAndCodeBlocksKeepDocumentOrder() {
+        String content = "{\"root\":{\"type\":\"root\",\"children\":["
+                + "{\"type\":\"paragraph\",\"children\":[{\"type\":\"text\",\"text\":\"Steps:\"}]},"
+                + "{\"type\":\"list\",\"children\":["
+                + "{\"type\":\"listitem\",\"children\":[{\"type\":\"text\",\"text\":\"one \"},"
+                + "{\"type\":\"list\",\"children\":[{\"type\":\"listitem\",\"children\":[{\"text\":\"nested \",\"type\":\"text\"}]}]}]},"
+                + "{\"type\":\"listitem\",\"children\":[{\"type\":\"text\",\"text\":\"two \"}]}]},"
+                + "{\"type\":\"code\",\"language\":\"java\",\"children\":["
+                + "{\"type\":\"code-highlight\",\"text\":\"int x = 1;\"},{\"type\":\"linebreak\"},"
+                + "{\"children\":[],\"text\":\"x++;\",\"type\":\"code-highlight\"}]},"
+                + "{\"type\":\"paragraph\",\"children\":[{\"type\":\"text\",\"text\":\"Done\"}]}]}}";
+        LexicalExtraction extraction = processor.analyze(content);
+
+        assertTrue(extraction.lexical());
+        assertEquals("Steps:\none nested two int x = 1;x++;Done", extraction.plainText());
+    }
+
+    @Test
+    void emptyRootIsLexicalWithoutText() {
+        LexicalExtraction extraction = processor.analyze("{\"root\":{\"children\":[],\"type\":\"root\"}}");
+
+        assertTrue(extraction.lexical());
+        assertEquals("", extraction.plainText());
+    }
+
+    @Test
+    void jsonWithoutRootChildrenIsNotLexical() {
+        assertFalse(processor.analyze("{\"root\":{\"type\":\"root\"}}").lexical());
+        assertFalse(processor.analyze("{\"title\":\"x\"}").lexical());
+        assertEquals("", processor.analyze("{\"title\":\"x\"}").plainText());
+    }
+
+    @Test
+    void matchesTheTreeBasedExtraction() {
+        String content = "{\"root\":{\"children\":[{\"children\":[{\"text\":\"a\",\"type\":\"text\"}],\"type\":\"paragraph\"},"
+                + "{\"type\":\"paragraph\",\"children\":[{\"type\":\"text\",\"text\":\"b\"}]}]}}";
+        LexicalContentProcessorBenchmark.TreeExtractor tree = new LexicalContentProcessorBenchmark.TreeExtractor();
+
+        assertEquals(tree.extractPlainText(content), processor.extractPlainText(content));
+    }
+}
@@ -0,0 +1,27 @@
+package theBugApp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReputationDeltaTest {
+
+    @Test
+    void composedDeltaMatchesEventByEventReplay() {
+        Random random = new Random(42);
+        int[] points = {10, -10, 5, -2, 15, -15, -1, 1, 2, -5};
+        for (int run = 0; run < 1000; run++) {
+            int start = 1 + random.nextInt(40);
+            int replayed = start;
+            ReputationLedgerProcessor.ReputationDelta delta = ReputationLedgerProcessor.ReputationDelta.NONE;
+            for (int i = random.nextInt(30); i >= 0; i--) {
+                int p = points[random.nextInt(points.length)];
+                replayed = Math.max(1, replayed + p);
+                delta = delta.then(p);
+            }
+            assertEquals(replayed, delta.applyTo(start), "run " + run);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package theBugApp.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Votes per second on a single hot author, each vote carrying its reputation effect
+ * (alternating +10 / -10, an upvote toggled on and off, so the daily limit never
+ * kicks in):
+ * <ul>
+ *     <li>{@code optimisticReadModifyWrite}: the old path, reload the user, insert the
+ *     history row, save under the version check and retry on conflict;</li>
+ *     <li>{@code atomicUpdate}: history row plus {@code GREATEST(1, reputation + d)},
+ *     still one row lock per vote on the author;</li>
+ *     <li>{@code outbox}: the vote only inserts into {@code reputation_outbox} while
+ *     {@link ReputationLedgerProcessor} drains it in the background.</li>
+ * </ul>
+ * Needs a PostgreSQL: {@code REPUTATION_BENCH_DB_URL=jdbc:postgresql://localhost:5432/postgres?user=postgres},
+ * then run the main method from the IDE or after mvn test-compile.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(16)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReputationHotAuthorBenchmark {
+
+    private static final String SCHEMA = "reputation_bench";
+    private static final long AUTHOR_ID = 1L;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transaction;
+    private ReputationLedgerProcessor processor;
+    private Thread drainer;
+    private volatile boolean draining;
+
+    @State(Scope.Thread)
+    public static class Voter {
+        private int votes;
+
+        // Upvote, puis retrait de l'upvote
+        int nextPoints() {
+            return (votes++ & 1) == 0 ? 10 : -10;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getenv("REPUTATION_BENCH_DB_URL");
+        if (url == null) {
+            throw new IllegalStateException("Set REPUTATION_BENCH_DB_URL to a PostgreSQL JDBC url");
+        }
+        JdbcTemplate admin = new JdbcTemplate(new DriverManagerDataSource(url));
+        admin.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        admin.execute("CREATE SCHEMA " + SCHEMA);
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA);
+        dataSource.setMaximumPoolSize(24);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+
+        // Mêmes colonnes que les tables générées par Hibernate et les migrations db/migration
+        jdbc.execute("CREATE TABLE users (user_id bigint PRIMARY KEY, reputation int NOT NULL, version bigint, " +
+                "reputation_seq bigint NOT NULL DEFAULT 0)");
+        jdbc.execute("CREATE TABLE reputation_history (id bigserial PRIMARY KEY, user_id bigint NOT NULL, " +
+                "action varchar(255) NOT NULL, points int NOT NULL, created_at timestamp(6) NOT NULL, " +
+                "question_id bigint, answer_id bigint, vote_id bigint, description varchar(255))");
+        jdbc.execute("CREATE INDEX idx_reputation_history_user_created ON reputation_history (user_id, created_at)");
+        jdbc.execute("CREATE TABLE reputation_outbox (id bigserial PRIMARY KEY, user_id bigint NOT NULL, " +
+                "action varchar(255) NOT NULL, points int NOT NULL, question_id bigint, answer_id bigint, " +
+                "vote_id bigint, description varchar(255), created_at timestamp(6) NOT NULL)");
+        jdbc.update("INSERT INTO users (user_id, reputation, version) VALUES (?, 1, 0)", AUTHOR_ID);
+
+        processor = new ReputationLedgerProcessor(jdbc, transactionManager, key -> { },
+                new DailyReputationAccumulator(), 500, 4);
+        draining = true;
+        drainer = new Thread(() -> {
+            while (draining) {
+                processor.drain();
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "reputation-bench-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        draining = false;
+        drainer.join();
+        processor.drain();
+        processor.shutdown();
+
+        Integer backlog = jdbc.queryForObject("SELECT COUNT(*) FROM reputation_outbox", Integer.class);
+        if (backlog != null && backlog > 0) {
+            throw new IllegalStateException(backlog + " outbox events left after the final drain");
+        }
+        // Le ledger applique l'historique dans l'ordre des ids : le rejouer doit redonner la réputation stockée
+        // (seul le benchmark outbox passe par le ledger)
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM reputation_history WHERE action = 'ANSWER_UPVOTE'", Integer.class) > 0) {
+            int replayed = 1;
+            for (Integer points : jdbc.queryForList("SELECT points FROM reputation_history ORDER BY id", Integer.class)) {
+                replayed = Math.max(1, replayed + points);
+            }
+            Integer stored = jdbc.queryForObject("SELECT reputation FROM users WHERE user_id = ?", Integer.class, AUTHOR_ID);
+            if (stored == null || stored != replayed) {
+                throw new IllegalStateException("Ledger reputation " + stored + " differs from replayed history " + replayed);
+            }
+        }
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void optimisticReadModifyWrite(Voter voter) {
+        int points = voter.nextPoints();
+        Boolean saved;
+        do {
+            saved = transaction.execute(status -> {
+                long[] user = jdbc.queryForObject("SELECT reputation, version FROM users WHERE user_id = ?",
+                        (rs, i) -> new long[]{rs.getInt("reputation"), rs.getLong("version")}, AUTHOR_ID);
+                jdbc.queryForObject("SELECT COALESCE(SUM(points), 0) FROM reputation_history " +
+                        "WHERE user_id = ? AND created_at >= CURRENT_DATE", Integer.class, AUTHOR_ID);
+                insertHistory("BOUNTY_AWARDED", points);
+                int updated = jdbc.update("UPDATE users SET reputation = ?, version = version + 1 WHERE user_id = ? AND version = ?",
+                        Math.max(1, (int) user[0] + points), AUTHOR_ID, user[1]);
+                if (updated == 0) {
+                    // OptimisticLockException : la transaction du vote est annulée et rejouée
+                    status.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            });
+        } while (!Boolean.TRUE.equals(saved));
+    }
+
+    @Benchmark
+    public void atomicUpdate(Voter voter) {
+        int points = voter.nextPoints();
+        transaction.executeWithoutResult(status -> {
+            insertHistory("BOUNTY_AWARDED", points);
+            jdbc.update("UPDATE users SET reputation = GREATEST(1, reputation + ?), reputation_seq = reputation_seq + 1 " +
+                    "WHERE user_id = ?", points, AUTHOR_ID);
+        });
+    }
+
+    @Benchmark
+    public void outbox(Voter voter) {
+        int points = voter.nextPoints();
+        transaction.executeWithoutResult(status -> jdbc.update(
+                "INSERT INTO reputation_outbox (user_id, action, points, description, created_at) " +
+                        "VALUES (?, 'ANSWER_UPVOTE', ?, 'Answer upvoted', LOCALTIMESTAMP)",
+                AUTHOR_ID, points));
+    }
+
+    private void insertHistory(String action, int points) {
+        jdbc.update("INSERT INTO reputation_history (user_id, action, points, created_at, description) " +
+                "VALUES (?, ?, ?, LOCALTIMESTAMP, 'bench')", AUTHOR_ID, action, points);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReputationHotAuthorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package theBugApp.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Several {@link ReputationLedgerProcessor}s, standing for several nodes, drain the
+ * same outbox with small batches against a real PostgreSQL; every user's history
+ * must come out in outbox order. Run with e.g.
+ * {@code REPUTATION_STRESS_DB_URL=jdbc:postgresql://localhost:5432/postgres?user=postgres mvn test -Dtest=ReputationLedgerOrderingStressTest}.
+ */
+@EnabledIfEnvironmentVariable(named = "REPUTATION_STRESS_DB_URL", matches = ".+")
+class ReputationLedgerOrderingStressTest {
+
+    private static final String SCHEMA = "reputation_stress";
+    private static final int USERS = 4;
+    private static final int EVENTS = 20_000;
+    private static final int NODES = 4;
+
+    private static JdbcTemplate adminJdbc;
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void createSchema() {
+        String url = System.getenv("REPUTATION_STRESS_DB_URL");
+        adminJdbc = new JdbcTemplate(new DriverManagerDataSource(url));
+        adminJdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        adminJdbc.execute("CREATE SCHEMA " + SCHEMA);
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA);
+        dataSource.setMaximumPoolSize(NODES * 4);
+        jdbc = new JdbcTemplate(dataSource);
+        // Mêmes colonnes que les tables générées par Hibernate et les migrations db/migration
+        jdbc.execute("CREATE TABLE users (user_id bigint PRIMARY KEY, reputation int NOT NULL, version bigint, " +
+                "reputation_seq bigint NOT NULL DEFAULT 0)");
+        jdbc.execute("CREATE TABLE reputation_history (id bigserial PRIMARY KEY, user_id bigint NOT NULL, " +
+                "action varchar(255) NOT NULL, points int NOT NULL, created_at timestamp(6) NOT NULL, " +
+                "question_id bigint, answer_id bigint, vote_id bigint, description varchar(255))");
+        jdbc.execute("CREATE TABLE reputation_outbox (id bigserial PRIMARY KEY, user_id bigint NOT NULL, " +
+                "action varchar(255) NOT NULL, points int NOT NULL, question_id bigint, answer_id bigint, " +
+                "vote_id bigint, description varchar(255), created_at timestamp(6) NOT NULL)");
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        dataSource.close();
+        adminJdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+    void concurrentNodesApplyEachUsersEventsInOutboxOrder() throws Exception {
+        for (long user = 1; user <= USERS; user++) {
+            jdbc.update("INSERT INTO users (user_id, reputation, version) VALUES (?, 1, 0)", user);
+        }
+        // vote_id garde le rang de l'événement dans l'outbox ; -2 / +1 pour que l'ordre compte (plancher à 1)
+        jdbc.update("INSERT INTO reputation_outbox (user_id, action, points, vote_id, description, created_at) " +
+                "SELECT 1 + g % ?, 'BOUNTY_AWARDED', CASE WHEN g % 3 = 0 THEN -2 ELSE 1 END, g, 'stress', LOCALTIMESTAMP " +
+                "FROM generate_series(1, ?) g", USERS, EVENTS);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        ExecutorService pool = Executors.newFixedThreadPool(NODES);
+        List<ReputationLedgerProcessor> nodes = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int n = 0; n < NODES; n++) {
+            ReputationLedgerProcessor node = new ReputationLedgerProcessor(jdbc, transactionManager, key -> { },
+                    new DailyReputationAccumulator(), 20, 2);
+            nodes.add(node);
+            futures.add(pool.submit(() -> {
+                while (jdbc.queryForObject("SELECT COUNT(*) FROM reputation_outbox", Integer.class) > 0) {
+                    node.drain();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+        nodes.forEach(ReputationLedgerProcessor::shutdown);
+
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM (SELECT vote_id < lag(vote_id) " +
+                "OVER (PARTITION BY user_id ORDER BY id) AS reordered FROM reputation_history) h WHERE reordered", Integer.class));
+        for (long user = 1; user <= USERS; user++) {
+            int replayed = 1;
+            for (Integer points : jdbc.queryForList("SELECT points FROM reputation_history WHERE user_id = ? ORDER BY id",
+                    Integer.class, user)) {
+                replayed = Math.max(1, replayed + points);
+            }
+            assertEquals(replayed, jdbc.queryForObject("SELECT reputation FROM users WHERE user_id = ?", Integer.class, user));
+        }
+    }
+}
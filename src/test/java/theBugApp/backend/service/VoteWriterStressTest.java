@@ -0,0 +1,105 @@
+package theBugApp.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import theBugApp.backend.entity.Vote;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers one question from many threads through {@link VoteWriter} against a real
+ * PostgreSQL. Run with e.g.
+ * {@code VOTE_STRESS_DB_URL=jdbc:postgresql://localhost:5432/postgres?user=postgres mvn test -Dtest=VoteWriterStressTest}.
+ */
+@EnabledIfEnvironmentVariable(named = "VOTE_STRESS_DB_URL", matches = ".+")
+class VoteWriterStressTest {
+
+    private static final String SCHEMA = "vote_stress";
+    private static final long QUESTION_ID = 1L;
+    private static final int USERS = 8;
+    private static final int THREADS = 32;
+    private static final int CLICKS_PER_THREAD = 200;
+
+    private static JdbcTemplate adminJdbc;
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbc;
+    private static TransactionTemplate transaction;
+
+    @BeforeAll
+    static void createSchema() {
+        String url = System.getenv("VOTE_STRESS_DB_URL");
+        adminJdbc = new JdbcTemplate(new DriverManagerDataSource(url));
+        adminJdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        adminJdbc.execute("CREATE SCHEMA " + SCHEMA);
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA);
+        dataSource.setMaximumPoolSize(THREADS);
+        jdbc = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        // Même forme que la table générée par Hibernate, avec les index des migrations db/migration
+        jdbc.execute("CREATE TABLE vote (id bigserial PRIMARY KEY, vote_type varchar(255), " +
+                "user_id bigint, question_id bigint, answer_id bigint)");
+        jdbc.execute("CREATE UNIQUE INDEX uq_vote_user_question ON vote (user_id, question_id) WHERE question_id IS NOT NULL");
+        jdbc.execute("CREATE UNIQUE INDEX uq_vote_user_answer ON vote (user_id, answer_id) WHERE answer_id IS NOT NULL");
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        dataSource.close();
+        adminJdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+    void concurrentClicksKeepOneVotePerUserAndConsistentDeltas() throws Exception {
+        VoteWriter writer = new VoteWriter(jdbc);
+        // Somme des deltas de score renvoyés, par utilisateur : doit finir égale à son vote final
+        AtomicIntegerArray scoreByUser = new AtomicIntegerArray(USERS + 1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < CLICKS_PER_THREAD; i++) {
+                    int user = 1 + random.nextInt(USERS);
+                    Vote.VoteType type = random.nextBoolean() ? Vote.VoteType.UPVOTE : Vote.VoteType.DOWNVOTE;
+                    VoteWriter.VoteChange change = transaction.execute(
+                            status -> writer.toggleQuestionVote((long) user, QUESTION_ID, type));
+                    scoreByUser.addAndGet(user, change.scoreDelta());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        Integer duplicates = jdbc.queryForObject("SELECT COUNT(*) FROM (SELECT user_id FROM vote " +
+                "WHERE question_id = ? GROUP BY user_id HAVING COUNT(*) > 1) d", Integer.class, QUESTION_ID);
+        assertEquals(0, duplicates);
+
+        Map<Long, Integer> finalVotes = new HashMap<>();
+        jdbc.query("SELECT user_id, vote_type FROM vote WHERE question_id = ?", rs -> {
+            finalVotes.put(rs.getLong(1), VoteScoreService.valueOf(Vote.VoteType.valueOf(rs.getString(2))));
+        }, QUESTION_ID);
+        for (int user = 1; user <= USERS; user++) {
+            assertEquals(finalVotes.getOrDefault((long) user, 0), scoreByUser.get(user), "user " + user);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package theBugApp.backend.service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import theBugApp.backend.dto.FullTagDTO;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InProcessInvalidationBusTest {
+
+    private final TagCache tagCache = new TagCache(100, 600);
+    private final InProcessInvalidationBus bus =
+            new InProcessInvalidationBus(new LocalInvalidationDispatcher(List.of(tagCache)));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void keyRoundTrips() {
+        InvalidationKey key = InvalidationKey.tag("Spring:Boot");
+        assertEquals(key, InvalidationKey.decode(key.encode()));
+        assertEquals(InvalidationKey.question(42L), InvalidationKey.decode("Q:42"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationKey.decode("X:1"));
+    }
+
+    @Test
+    void publishOutsideTransactionEvictsImmediately() {
+        load("Java");
+        bus.publish(InvalidationKey.tag("java"));
+        load("java");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void publishInsideTransactionEvictsOnlyAfterCommit() {
+        load("java");
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(InvalidationKey.tag("java"));
+
+        load("java");
+        assertEquals(1, loads.get());
+
+        complete(true);
+        load("java");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void rolledBackTransactionDoesNotEvict() {
+        load("java");
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(InvalidationKey.tag("java"));
+        complete(false);
+
+        load("java");
+        assertEquals(1, loads.get());
+    }
+
+    private void load(String name) {
+        tagCache.get(name, key -> {
+            loads.incrementAndGet();
+            return new FullTagDTO(1L, key, 0, 0);
+        });
+    }
+
+    private static void complete(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (committed) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(committed
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+}
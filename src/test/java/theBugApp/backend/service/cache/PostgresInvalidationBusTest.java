@@ -0,0 +1,126 @@
+package theBugApp.backend.service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import theBugApp.backend.dto.FullTagDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresInvalidationBusTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            sent.add((String) args[1]);
+            return null;
+        }
+    };
+    private final TagCache tagCache = new TagCache(100, 600);
+    private final PostgresInvalidationBus bus = new PostgresInvalidationBus(jdbcTemplate, null,
+            new LocalInvalidationDispatcher(List.of(tagCache)), "cache_invalidation", 500);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(bus);
+    }
+
+    @Test
+    void transactionSendsOneNotificationWithItsDistinctKeys() {
+        load("java");
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(InvalidationKey.tag("java"));
+        bus.publish(InvalidationKey.question(1L));
+        bus.publish(InvalidationKey.tag("Java"));
+        assertTrue(sent.isEmpty());
+
+        complete(true);
+        assertEquals(1, sent.size());
+        assertEquals("T:java\nQ:1", keysOf(sent.get(0)));
+        load("java");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void rolledBackTransactionSendsNothing() {
+        load("java");
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(InvalidationKey.tag("java"));
+        complete(false);
+
+        assertTrue(sent.isEmpty());
+        load("java");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void publishOutsideTransactionSendsImmediately() {
+        bus.publish(InvalidationKey.user(7L));
+        assertEquals(List.of("U:7"), sent.stream().map(PostgresInvalidationBusTest::keysOf).toList());
+    }
+
+    @Test
+    void largeBatchesAreSplitUnderThePayloadLimit() {
+        Set<InvalidationKey> keys = new HashSet<>();
+        for (long id = 0; id < 2000; id++) {
+            keys.add(InvalidationKey.question(id));
+        }
+        List<String> payloads = PostgresInvalidationBus.payloads("node", keys);
+
+        assertTrue(payloads.size() > 1);
+        Set<String> received = new HashSet<>();
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length < 8000);
+            received.addAll(List.of(keysOf(payload).split("\n")));
+        }
+        assertEquals(2000, received.size());
+    }
+
+    @Test
+    void keysThatCannotBeSentInvalidateEverything() {
+        List<String> payloads = PostgresInvalidationBus.payloads("node",
+                List.of(InvalidationKey.tag("x".repeat(8000)), InvalidationKey.tag("a\nb")));
+        assertEquals(List.of("node|*\n*"), payloads);
+    }
+
+    private static String keysOf(String payload) {
+        return payload.substring(payload.indexOf('|') + 1);
+    }
+
+    private void load(String name) {
+        tagCache.get(name, key -> {
+            loads.incrementAndGet();
+            return new FullTagDTO(1L, key, 0, 0);
+        });
+    }
+
+    private static void complete(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (committed) {
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (committed) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(committed
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+}
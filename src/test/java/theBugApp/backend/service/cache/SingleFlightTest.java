@@ -0,0 +1,124 @@
+package theBugApp.backend.service.cache;
+
+import org.junit.jupiter.api.Test;
+import theBugApp.backend.dto.QuestionResponseDTO;
+import theBugApp.backend.service.QuestionDetailCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 64;
+
+    @Test
+    void concurrentMissesRunOneLoad() throws Exception {
+        QuestionDetailCache cache = new QuestionDetailCache(1 << 20, 600);
+        AtomicInteger dbLoads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<QuestionResponseDTO> results = runConcurrently(() -> cache.getQuestion(42L, id -> {
+            dbLoads.incrementAndGet();
+            await(release);
+            return question(id);
+        }), release);
+
+        assertEquals(1, dbLoads.get());
+        assertEquals(CALLERS, results.size());
+        results.forEach(result -> assertSame(results.get(0), result));
+
+        // Servi depuis le cache ensuite
+        cache.getQuestion(42L, id -> fail("should be cached"));
+        assertEquals(1, dbLoads.get());
+    }
+
+    @Test
+    void waitersGetTheLeadersException() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> flight.execute("java", key -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    throw new IllegalStateException("boom");
+                }, (k, v) -> fail("nothing to publish"))));
+            }
+            waitForWaiters(flight, 7);
+            release.countDown();
+            for (Future<String> future : futures) {
+                ExecutionException e = assertThrows(ExecutionException.class, future::get);
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void loadForgottenMidwayIsNotPublished() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        List<String> published = new ArrayList<>();
+
+        String value = flight.execute("java", key -> {
+            flight.forget(key); // invalidation arrivée pendant la lecture
+            return "stale";
+        }, (k, v) -> published.add(v));
+
+        assertEquals("stale", value);
+        assertTrue(published.isEmpty());
+    }
+
+    private static <T> List<T> runConcurrently(Callable<T> call, CountDownLatch release) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        CyclicBarrier start = new CyclicBarrier(CALLERS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            // Laisse le temps à tous les appelants de rejoindre le premier chargement
+            Thread.sleep(200);
+            release.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void waitForWaiters(SingleFlight<?, ?> flight, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flight.coalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static QuestionResponseDTO question(Long id) {
+        return new QuestionResponseDTO(id, "title", "content", "content", null, null, null, 0, 0, 0, 0, Set.of());
+    }
+}
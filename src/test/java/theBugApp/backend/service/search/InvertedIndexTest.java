@@ -0,0 +1,77 @@
+package theBugApp.backend.service.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private static final long BOTH = 1000L;
+    private static final long ONLY_HIBERNATE = 1001L;
+
+    @Test
+    void updatesBeforeCompactionKeepCommonTermsPositive() {
+        InvertedIndex index = new InvertedIndex();
+        indexCorpus(index);
+        // 800 versions supprimées : sous le seuil de compactage, "java" a 1000 postings pour 200 documents vivants
+        editCorpus(index, 4);
+
+        assertRanking(index);
+    }
+
+    @Test
+    void liveFrequenciesSurviveASnapshot(@TempDir Path dir) throws Exception {
+        InvertedIndex original = new InvertedIndex();
+        indexCorpus(original);
+        Path file = dir.resolve("index.bin");
+        original.writeSnapshot(file, 0L);
+
+        InvertedIndex index = InvertedIndex.openSnapshot(file).index();
+        editCorpus(index, 4);
+
+        assertEquals(200, index.size());
+        assertRanking(index);
+    }
+
+    @Test
+    void removedQuestionsNoLongerMatch() {
+        InvertedIndex index = new InvertedIndex();
+        indexCorpus(index);
+        index.remove(BOTH);
+
+        List<Long> results = index.search("hibernate", null, 0, 10);
+        assertEquals(List.of(ONLY_HIBERNATE), results);
+    }
+
+    private static void indexCorpus(InvertedIndex index) {
+        for (long id = 0; id < 198; id++) {
+            index.upsert(id, "java question " + id, "some body text", List.of("java"));
+        }
+        index.upsert(BOTH, "mapping", "java hibernate", List.of("java"));
+        index.upsert(ONLY_HIBERNATE, "mapping", "orm hibernate", List.of("java"));
+    }
+
+    private static void editCorpus(InvertedIndex index, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (long id = 0; id < 198; id++) {
+                index.upsert(id, "java question " + id, "edited body text " + round, List.of("java"));
+            }
+            index.upsert(BOTH, "mapping", "java hibernate", List.of("java"));
+            index.upsert(ONLY_HIBERNATE, "mapping", "orm hibernate", List.of("java"));
+        }
+    }
+
+    // Le document qui contient aussi "java" doit passer devant, et chaque question n'apparaît qu'une fois
+    private static void assertRanking(InvertedIndex index) {
+        List<Long> results = index.search("java hibernate", null, 0, 300);
+        assertEquals(BOTH, results.get(0));
+        assertTrue(results.indexOf(ONLY_HIBERNATE) > 0);
+        assertEquals(results.size(), new HashSet<>(results).size());
+        assertEquals(200, results.size());
+    }
+}